@@ -0,0 +1,45 @@
+package br.edu.utfpr.alunos.webpet.benchmarks;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Conversão Animal -> AnimalDTO usada pelo AnimalService, numa página de animais
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnimalMappingBenchmark {
+    @Param({"20", "500"})
+    public int size;
+
+    private List<Animal> animals;
+
+    @Setup
+    public void setUp() {
+        animals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Animal animal = new Animal();
+            animal.setId(UUID.randomUUID().toString());
+            animal.setName("Animal " + i);
+            animal.setDescription("Descrição do animal " + i + ", dócil e vacinado");
+            animal.setCategory(CategoryType.values()[i % CategoryType.values().length]);
+            animal.setStatus(StatusType.AVAILABLE);
+            animals.add(animal);
+        }
+    }
+
+    @Benchmark
+    public List<AnimalDTO> toDto() {
+        return animals.stream().map(AnimalDTO::from).toList();
+    }
+}
@@ -0,0 +1,33 @@
+package br.edu.utfpr.alunos.webpet.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Tamanho do envelope tipado de GET /animal/animals em cada formato do ResponseSerializationBenchmark, cru e com
+// gzip. Roda uma vez, fora do JMH:
+//   java -cp benchmarks/target/benchmarks.jar br.edu.utfpr.alunos.webpet.benchmarks.PayloadSizes
+public class PayloadSizes {
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-6s %8s %10s %10s%n", "format", "animais", "bytes", "gzip");
+        for (int size : List.of(20, 500)) {
+            for (String format : List.of("json", "cbor", "smile")) {
+                ObjectWriter writer = ResponseSerializationBenchmark.writer(format);
+                byte[] payload = ResponseSerializationBenchmark.typedEnvelope(writer,
+                        ResponseSerializationBenchmark.page(ResponseSerializationBenchmark.animals(size)));
+                System.out.printf("%-6s %8d %10d %10d%n", format, size, payload.length, gzipped(payload));
+            }
+        }
+    }
+
+    private static int gzipped(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,96 @@
+package br.edu.utfpr.alunos.webpet.benchmarks;
+
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Serialização do envelope de GET /animal/animals em JSON, CBOR e Smile: `map` é o HashMap antigo em `data`,
+// `typed` o AnimalPageDTO. O tamanho de cada formato, cru e com gzip, sai do PayloadSizes, fora do JMH.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    private static final String MESSAGE = "Lista de animais obtida com sucesso";
+
+    @Param({"20", "500"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private List<AnimalDTO> animals;
+    private AnimalPageDTO page;
+
+    @Setup
+    public void setUp() {
+        writer = writer(format);
+        animals = animals(size);
+        page = page(animals);
+    }
+
+    @Benchmark
+    public byte[] mapEnvelope() throws JsonProcessingException {
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("animals", animals);
+        data.put("totalElements", 1234L);
+        data.put("totalPages", 62);
+        data.put("page", 0);
+        data.put("size", size);
+        return writer.writeValueAsBytes(ResponseDTO.success(MESSAGE, data));
+    }
+
+    @Benchmark
+    public byte[] typedEnvelope() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ResponseDTO.success(MESSAGE, page));
+    }
+
+    static ObjectWriter writer(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // Mesmo ponto de partida do ObjectMapper do Spring Boot
+        return Jackson2ObjectMapperBuilder.json().factory(factory).build().writer();
+    }
+
+    static List<AnimalDTO> animals(int size) {
+        List<AnimalDTO> animals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            animals.add(new AnimalDTO(
+                    UUID.randomUUID().toString(),
+                    "Animal " + i,
+                    "Descrição do animal " + i + ", dócil e vacinado",
+                    CategoryType.values()[i % CategoryType.values().length],
+                    StatusType.AVAILABLE));
+        }
+        return animals;
+    }
+
+    static AnimalPageDTO page(List<AnimalDTO> animals) {
+        return new AnimalPageDTO(animals, 1234L, 62, 0, animals.size());
+    }
+
+    static byte[] typedEnvelope(ObjectWriter writer, AnimalPageDTO page) throws JsonProcessingException {
+        return writer.writeValueAsBytes(ResponseDTO.success(MESSAGE, page));
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.utfpr.alunos.webpet.benchmarks;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.infra.security.TokenService;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Emissão e validação de JWT; "uncached" desliga o cache de tokens verificados (tamanho 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+    private TokenService uncachedTokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(SECRET, 10_000, new SimpleMeterRegistry());
+        uncachedTokenService = new TokenService(SECRET, 0, new SimpleMeterRegistry());
+        user = new User();
+        user.setId("8f14e45f-ceea-467f-a0a3-6c1b5f0c1c3a");
+        user.setName("ONG Benchmark");
+        user.setEmail("ong@webpet.local");
+        user.setUserType(UserType.JURIDICO);
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateTokenCached() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateTokenUncached() {
+        return uncachedTokenService.validateToken(token);
+    }
+}
@@ -0,0 +1,72 @@
+package br.edu.utfpr.alunos.webpet.benchmarks;
+
+import br.edu.utfpr.alunos.webpet.domain.events.UserChangedEvent;
+import br.edu.utfpr.alunos.webpet.dto.OngDirectoryEntryDTO;
+import br.edu.utfpr.alunos.webpet.infra.http.ResponseEncoders;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.services.UserService;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Snapshot do diretório de ONGs (UserService.getOngDirectory), com o repositório trocado por uma lista em memória:
+// `rebuild` mede a montagem (projeção + Jackson nos três formatos + hash) feita após cada alteração, `cached` o caminho de toda leitura
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    private static final UserChangedEvent ONG_CHANGED = new UserChangedEvent("ong", "ong@webpet.local");
+
+    @Param({"50"})
+    public int ongs;
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        List<OngDirectoryEntryDTO> entries = new ArrayList<>(ongs);
+        for (int i = 0; i < ongs; i++) {
+            entries.add(new OngDirectoryEntryDTO(
+                    UUID.randomUUID().toString(),
+                    "ONG " + i,
+                    "ong" + i + "@webpet.local",
+                    "(41) 99999-00" + (i % 100),
+                    "00.000.000/0001-" + (i % 100),
+                    "Abrigo de animais resgatados número " + i));
+        }
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findDirectoryByUserType")) {
+                        return entries;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        userService = new UserService(repository, new ResponseEncoders(
+                Jackson2ObjectMapperBuilder.json().build(),
+                Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(),
+                Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()));
+    }
+
+    @Benchmark
+    public byte[] rebuild() {
+        userService.onUserChanged(ONG_CHANGED);
+        return userService.getOngDirectory().json();
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        return userService.getOngDirectory().json();
+    }
+}
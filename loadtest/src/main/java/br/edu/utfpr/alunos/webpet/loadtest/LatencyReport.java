@@ -0,0 +1,146 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import br.edu.utfpr.alunos.webpet.loadtest.LoadRunner.LoadResult;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Tabela no console e arquivos por execução: summary.csv (comparável entre execuções),
+// <cenario>.hgrm (distribuição completa, em ms) e latency.hlog (para o HistogramLogAnalyzer)
+class LatencyReport {
+    private static final String TOTAL = "TOTAL";
+    private static final String CSV_HEADER = "scenario,requests,throughput,failures,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+    private final LoadResult result;
+
+    LatencyReport(LoadResult result) {
+        this.result = result;
+        Histogram total = null;
+        long totalFailures = 0;
+        for (Map.Entry<Scenario, Histogram> entry : result.histograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long failures = result.failures().get(entry.getKey()).values().stream().mapToLong(Long::longValue).sum();
+            rows.put(entry.getKey().name(), Row.of(histogram, failures, result.measuredSeconds()));
+            totalFailures += failures;
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+        }
+        if (total != null) {
+            rows.put(TOTAL, Row.of(total, totalFailures, result.measuredSeconds()));
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%nJanela medida: %.1f s%n%n", result.measuredSeconds());
+        out.printf(Locale.ROOT, "%-8s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Cenário", "req", "req/s", "falhas", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        rows.forEach((name, row) -> out.printf(Locale.ROOT, "%-8s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, row.requests(), row.throughput(), row.failures(), row.p50(), row.p90(), row.p99(), row.p999(), row.max()));
+
+        result.failures().forEach((scenario, counts) -> {
+            if (!counts.isEmpty()) {
+                out.printf("Falhas em %s: %s%n", scenario, counts.entrySet().stream()
+                        .map(entry -> statusLabel(entry.getKey()) + " x" + entry.getValue())
+                        .collect(Collectors.joining(", ")));
+            }
+        });
+    }
+
+    void write(Path directory, List<String> runInfo) throws IOException {
+        Files.createDirectories(directory);
+        List<String> csv = new ArrayList<>();
+        csv.add(CSV_HEADER);
+        rows.forEach((name, row) -> csv.add(String.format(Locale.ROOT, "%s,%d,%.2f,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                name, row.requests(), row.throughput(), row.failures(), row.p50(), row.p90(), row.p99(), row.p999(), row.max())));
+        Files.write(directory.resolve("summary.csv"), csv);
+        Files.write(directory.resolve("run.txt"), runInfo);
+
+        try (PrintStream hlog = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(hlog);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<Scenario, Histogram> entry : result.histograms().entrySet()) {
+                Histogram histogram = entry.getValue();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                histogram.setTag(entry.getKey().name());
+                writer.outputIntervalHistogram(histogram);
+
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(
+                        directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+            }
+        }
+    }
+
+    // Diferença percentual contra o summary.csv de uma execução anterior
+    void compare(Path baselineCsv, PrintStream out) throws IOException {
+        Map<String, Row> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(baselineCsv);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            baseline.put(columns[0], new Row(Long.parseLong(columns[1]), Double.parseDouble(columns[2]),
+                    Long.parseLong(columns[3]), Double.parseDouble(columns[4]), Double.parseDouble(columns[5]),
+                    Double.parseDouble(columns[6]), Double.parseDouble(columns[7]), Double.parseDouble(columns[8])));
+        }
+
+        out.printf("%nComparação com %s%n%n", baselineCsv);
+        out.printf(Locale.ROOT, "%-8s %10s %10s %10s %10s%n", "Cenário", "req/s", "p50", "p99", "p99.9");
+        rows.forEach((name, row) -> {
+            Row before = baseline.get(name);
+            if (before == null) {
+                out.printf(Locale.ROOT, "%-8s %10s%n", name, "(novo)");
+                return;
+            }
+            out.printf(Locale.ROOT, "%-8s %10s %10s %10s %10s%n", name,
+                    delta(before.throughput(), row.throughput()), delta(before.p50(), row.p50()),
+                    delta(before.p99(), row.p99()), delta(before.p999(), row.p999()));
+        });
+    }
+
+    private static String delta(double before, double after) {
+        if (before == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+    }
+
+    private static String statusLabel(int status) {
+        return status == LoadRunner.CLIENT_ERROR ? "erro de rede/timeout" : "HTTP " + status;
+    }
+
+    private record Row(long requests, double throughput, long failures,
+                       double p50, double p90, double p99, double p999, double max) {
+
+        static Row of(Histogram histogram, long failures, double seconds) {
+            return new Row(histogram.getTotalCount(), histogram.getTotalCount() / seconds, failures,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+    }
+}
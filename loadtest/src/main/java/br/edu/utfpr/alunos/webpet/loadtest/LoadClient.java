@@ -0,0 +1,98 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import br.edu.utfpr.alunos.webpet.loadtest.Seeder.SeedData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Executa um cenário contra a API e devolve o status HTTP; os corpos são lidos e descartados
+class LoadClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+    private static final String[] PAYMENT_METHODS = {"PIX", "CREDIT_CARD", "BOLETO"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final SeedData seed;
+
+    LoadClient(HttpClient httpClient, String baseUrl, SeedData seed) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+    }
+
+    // Cada usuário virtual entra uma vez, fora da medição, e reaproveita o token
+    String login(String email) throws IOException, InterruptedException {
+        Map<String, Object> credentials = Map.of("email", email, "password", seed.password());
+        HttpResponse<String> response = httpClient.send(
+                json("/auth/login").POST(body(credentials)).build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = objectMapper.readTree(response.body()).path("data").path("token");
+        if (response.statusCode() != 200 || token.isMissingNode()) {
+            throw new IllegalStateException("Login de " + email + " falhou: " + response.statusCode() + " " + response.body());
+        }
+        return token.asText();
+    }
+
+    int execute(Scenario scenario, String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = switch (scenario) {
+            case BROWSE -> {
+                int pages = Math.max(1, seed.animalIds().size() / PAGE_SIZE);
+                // Metade das listagens filtra por disponíveis, como a vitrine do front
+                String filter = random.nextBoolean() ? "&status=AVAILABLE" : "";
+                yield get("/animal/animals?size=" + PAGE_SIZE + "&page=" + random.nextInt(pages) + filter).build();
+            }
+            case VIEW -> get("/animal/" + randomAnimal(random)).build();
+            case LOGIN -> {
+                String email = seed.adopterEmails().get(random.nextInt(seed.adopterEmails().size()));
+                Map<String, Object> credentials = Map.of("email", email, "password", seed.password());
+                yield json("/auth/login").POST(body(credentials)).build();
+            }
+            case ADOPT -> authorized(json("/animal/adopt/" + randomAnimal(random)), token)
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case DONATE -> {
+                Map<String, Object> donation = Map.of(
+                        "amount", 5 + random.nextInt(200),
+                        "paymentMethod", PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+                yield authorized(json("/donation/donate"), token)
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .POST(body(donation))
+                        .build();
+            }
+        };
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String randomAnimal(ThreadLocalRandom random) {
+        return seed.animalIds().get(random.nextInt(seed.animalIds().size()));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, String token) {
+        return builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher body(Map<String, Object> value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+}
@@ -0,0 +1,171 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import br.edu.utfpr.alunos.webpet.loadtest.Seeder.SeedData;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Dispara os cenários em threads virtuais e grava a latência de cada requisição em microssegundos.
+// Loop fechado (padrão): `users` usuários, cada um envia a próxima requisição quando recebe a resposta.
+// Loop aberto (--rate): requisições em intervalos fixos; a latência conta a partir do horário planejado,
+// então a fila que se forma quando a API não acompanha aparece nos percentis (sem coordinated omission).
+class LoadRunner {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int LOGIN_PARALLELISM = 4;
+    // Status usado para falhas de rede e timeouts do cliente
+    static final int CLIENT_ERROR = -1;
+
+    private final LoadClient client;
+    private final LoadTestOptions options;
+    private final SeedData seed;
+    private final Scenario[] weightedScenarios;
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, Map<Integer, LongAdder>> failures = new EnumMap<>(Scenario.class);
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    LoadRunner(LoadClient client, LoadTestOptions options, SeedData seed) {
+        this.client = client;
+        this.options = options;
+        this.seed = seed;
+        List<Scenario> weighted = new ArrayList<>();
+        options.mix().forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+        this.weightedScenarios = weighted.toArray(Scenario[]::new);
+        for (Scenario scenario : options.mix().keySet()) {
+            recorders.put(scenario, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            failures.put(scenario, new ConcurrentHashMap<>());
+        }
+    }
+
+    LoadResult run() throws Exception {
+        List<String> tokens = login();
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long measureEnd = warmupEnd + options.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.openLoop()) {
+                executor.submit(() -> openLoop(executor, tokens, measureEnd));
+            } else {
+                for (String token : tokens) {
+                    executor.submit(() -> closedLoop(token));
+                }
+            }
+            sleepUntil(warmupEnd);
+            recorders.values().forEach(Recorder::reset);
+            failures.values().forEach(Map::clear);
+            measuring = true;
+            long measureStart = System.nanoTime();
+            sleepUntil(measureEnd);
+            measuring = false;
+            long measuredNanos = System.nanoTime() - measureStart;
+            stopped = true;
+
+            Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+            Map<Scenario, Map<Integer, Long>> failureCounts = new EnumMap<>(Scenario.class);
+            recorders.forEach((scenario, recorder) -> histograms.put(scenario, recorder.getIntervalHistogram()));
+            failures.forEach((scenario, counts) -> {
+                Map<Integer, Long> snapshot = new TreeMap<>();
+                counts.forEach((status, count) -> snapshot.put(status, count.sum()));
+                failureCounts.put(scenario, snapshot);
+            });
+            // Requisições ainda em voo terminam (ou estouram o timeout) antes de a aplicação fechar
+            executor.shutdown();
+            return new LoadResult(histograms, failureCounts, measuredNanos / 1e9);
+        }
+    }
+
+    // Um token por usuário virtual, obtido antes do aquecimento; o login medido é o cenário LOGIN
+    private List<String> login() throws Exception {
+        List<Future<String>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(LOGIN_PARALLELISM)) {
+            for (int i = 0; i < options.users(); i++) {
+                String email = seed.adopterEmails().get(i % seed.adopterEmails().size());
+                futures.add(executor.submit(() -> client.login(email)));
+            }
+        }
+        List<String> tokens = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            tokens.add(future.get());
+        }
+        return tokens;
+    }
+
+    private void closedLoop(String token) {
+        while (!stopped) {
+            Scenario scenario = nextScenario();
+            long start = System.nanoTime();
+            int status = execute(scenario, token);
+            record(scenario, status, System.nanoTime() - start);
+        }
+    }
+
+    private void openLoop(ExecutorService executor, List<String> tokens, long end) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end || stopped) {
+                return;
+            }
+            sleepUntil(intended);
+            String token = tokens.get((int) (i % tokens.size()));
+            executor.submit(() -> {
+                Scenario scenario = nextScenario();
+                int status = execute(scenario, token);
+                record(scenario, status, System.nanoTime() - intended);
+            });
+        }
+    }
+
+    private int execute(Scenario scenario, String token) {
+        try {
+            return client.execute(scenario, token);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CLIENT_ERROR;
+        } catch (Exception e) {
+            return CLIENT_ERROR;
+        }
+    }
+
+    private void record(Scenario scenario, int status, long nanos) {
+        if (!measuring) {
+            return;
+        }
+        recorders.get(scenario).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!scenario.isExpected(status)) {
+            failures.get(scenario).computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    private Scenario nextScenario() {
+        return weightedScenarios[ThreadLocalRandom.current().nextInt(weightedScenarios.length)];
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    record LoadResult(Map<Scenario, Histogram> histograms, Map<Scenario, Map<Integer, Long>> failures,
+                      double measuredSeconds) {}
+}
@@ -0,0 +1,110 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import br.edu.utfpr.alunos.webpet.WebPetApplication;
+import br.edu.utfpr.alunos.webpet.loadtest.LoadRunner.LoadResult;
+import br.edu.utfpr.alunos.webpet.loadtest.Seeder.SeedData;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// Sobe o WebPet neste mesmo processo contra um PostgreSQL embutido (ou --jdbc-url), popula a base,
+// roda o mix de cenários e grava o relatório de latência. Ver loadtest/README.md.
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (EmbeddedPostgres postgres = options.jdbcUrl() == null ? startPostgres() : null) {
+            String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : options.jdbcUrl();
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WebPetApplication.class)
+                    .run(applicationArgs(options, jdbcUrl))) {
+                String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+
+                System.out.printf("Populando a base: %d ONGs, %d adotantes, %d animais%n",
+                        options.seedOngs(), options.seedAdopters(), options.seedAnimals());
+                SeedData seed = new Seeder(app, options.randomSeed())
+                        .seed(options.seedOngs(), options.seedAdopters(), options.seedAnimals());
+
+                System.out.printf("Carga: %s, mix %s, aquecimento %ds, medição %ds%n",
+                        options.openLoop() ? options.rate() + " req/s (loop aberto)" : options.users() + " usuários (loop fechado)",
+                        options.mix(), options.warmup().toSeconds(), options.duration().toSeconds());
+                LoadResult result;
+                try (HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build()) {
+                    result = new LoadRunner(new LoadClient(httpClient, baseUrl, seed), options, seed).run();
+                }
+
+                LatencyReport report = new LatencyReport(result);
+                report.print(System.out);
+                Path directory = options.output().resolve(
+                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+                report.write(directory, runInfo(options, app));
+                System.out.printf("%nRelatório gravado em %s%n", directory.toAbsolutePath());
+                if (options.baseline() != null) {
+                    report.compare(options.baseline(), System.out);
+                }
+            }
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() throws Exception {
+        // initdb e postgres se recusam a rodar como root
+        if ("root".equals(System.getProperty("user.name"))) {
+            throw new IllegalStateException(
+                    "O PostgreSQL embutido não roda como root: use outro usuário ou aponte --jdbc-url para um banco existente");
+        }
+        System.out.println("Iniciando PostgreSQL embutido...");
+        return EmbeddedPostgres.builder().start();
+    }
+
+    // Padrões do teste de carga; argumentos da aplicação passados na linha de comando têm precedência
+    private static String[] applicationArgs(LoadTestOptions options, String jdbcUrl) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", options.jdbcUsername());
+        properties.put("spring.datasource.password", options.jdbcPassword());
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        for (String arg : options.applicationArgs()) {
+            int separator = arg.indexOf('=');
+            properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static List<String> runInfo(LoadTestOptions options, ConfigurableApplicationContext app) {
+        List<String> info = new ArrayList<>();
+        info.add("started=" + LocalDateTime.now());
+        info.add("java=" + System.getProperty("java.version"));
+        info.add("processors=" + Runtime.getRuntime().availableProcessors());
+        info.add("users=" + options.users());
+        info.add("rate=" + options.rate());
+        info.add("warmup=" + options.warmup());
+        info.add("duration=" + options.duration());
+        info.add("mix=" + options.mix());
+        info.add("seed=" + options.seedOngs() + " ongs, " + options.seedAdopters() + " adopters, " + options.seedAnimals() + " animals");
+        info.add("database=" + (options.jdbcUrl() == null ? "embedded" : options.jdbcUrl()));
+        info.add("spring.threads.virtual.enabled=" + app.getEnvironment().getProperty("spring.threads.virtual.enabled"));
+        info.add("hibernate.cache.use_second_level_cache="
+                + app.getEnvironment().getProperty("spring.jpa.properties.hibernate.cache.use_second_level_cache"));
+        info.add("args=" + String.join(" ", options.applicationArgs()));
+        return info;
+    }
+}
@@ -0,0 +1,116 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Argumentos no formato --nome=valor. Os que não são do gerador (--spring.*, --webpet.*, --api.*...)
+// seguem para a aplicação, como em um `java -jar` normal.
+public record LoadTestOptions(
+        int users,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seedOngs,
+        int seedAdopters,
+        int seedAnimals,
+        Map<Scenario, Integer> mix,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        Path output,
+        Path baseline,
+        long randomSeed,
+        List<String> applicationArgs
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        int users = 50;
+        int rate = 0;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        int seedOngs = 200;
+        int seedAdopters = 2000;
+        int seedAnimals = 5000;
+        Map<Scenario, Integer> mix = Scenario.defaultMix();
+        String jdbcUrl = null;
+        String jdbcUsername = "postgres";
+        String jdbcPassword = "postgres";
+        Path output = Path.of("loadtest", "results");
+        Path baseline = null;
+        long randomSeed = 42;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --nome=valor)");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> users = Integer.parseInt(value);
+                case "rate" -> rate = Integer.parseInt(value);
+                case "warmup" -> warmup = duration(value);
+                case "duration" -> duration = duration(value);
+                case "seed-ongs" -> seedOngs = Integer.parseInt(value);
+                case "seed-adopters" -> seedAdopters = Integer.parseInt(value);
+                case "seed-animals" -> seedAnimals = Integer.parseInt(value);
+                case "mix" -> mix = mix(value);
+                case "jdbc-url" -> jdbcUrl = value;
+                case "jdbc-username" -> jdbcUsername = value;
+                case "jdbc-password" -> jdbcPassword = value;
+                case "output" -> output = Path.of(value);
+                case "baseline" -> baseline = Path.of(value);
+                case "random-seed" -> randomSeed = Long.parseLong(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (users <= 0 || seedOngs <= 0 || seedAdopters <= 0 || seedAnimals <= 0) {
+            throw new IllegalArgumentException("users e seed-* devem ser maiores que zero");
+        }
+        return new LoadTestOptions(users, rate, warmup, duration, seedOngs, seedAdopters, seedAnimals, mix,
+                jdbcUrl, jdbcUsername, jdbcPassword, output, baseline, randomSeed, List.copyOf(applicationArgs));
+    }
+
+    public boolean openLoop() {
+        return rate > 0;
+    }
+
+    // Aceita 30s, 2m, 500ms ou o formato ISO (PT30S)
+    private static Duration duration(String value) {
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.parse(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Duração inválida: " + value);
+        }
+    }
+
+    // browse:50,view:30,login:5 -> cenários ausentes ficam com peso zero
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix inválido: " + value + " (use cenario:peso,...)");
+            }
+            mix.put(Scenario.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("O mix precisa de ao menos um cenário com peso positivo");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,46 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+public enum Scenario {
+    BROWSE("Listagem paginada de animais", 50),
+    VIEW("Detalhe de um animal", 30),
+    LOGIN("Login (BCrypt)", 5),
+    ADOPT("Adoção", 5),
+    DONATE("Doação", 10);
+
+    private final String label;
+    private final int defaultWeight;
+
+    Scenario(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // 409 na adoção é o resultado normal de disputar um animal que outro usuário já adotou
+    public boolean isExpected(int status) {
+        return (status >= 200 && status < 300) || (this == ADOPT && status == 409);
+    }
+
+    public static Map<Scenario, Integer> defaultMix() {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : values()) {
+            mix.put(scenario, scenario.defaultWeight);
+        }
+        return mix;
+    }
+
+    public static Scenario fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cenário desconhecido: " + name);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.edu.utfpr.alunos.webpet.loadtest;
+
+import br.edu.utfpr.alunos.webpet.services.AnimalSearchService;
+import br.edu.utfpr.alunos.webpet.services.AnimalStatsService;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Popula a base direto por JDBC: cadastrar milhares de usuários pela API levaria minutos só de BCrypt.
+// Todos compartilham a mesma senha, com um único hash gerado pelo encoder da aplicação.
+class Seeder {
+    static final String PASSWORD = "loadtest";
+    private static final String EMAIL_DOMAIN = "@loadtest.webpet.local";
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] NAMES = {
+            "Thor", "Luna", "Mel", "Bob", "Nina", "Fred", "Pipoca", "Amora", "Zeca", "Bidu",
+            "Mia", "Toby", "Lola", "Simba", "Kiara", "Paçoca", "Fumaça", "Jade", "Rex", "Babi"};
+    private static final String[] TRAITS = {
+            "dócil", "brincalhão", "castrado", "vacinado", "idoso", "filhote", "calmo", "companheiro",
+            "resgatado da rua", "acostumado com crianças", "convive com gatos", "precisa de quintal"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+    private final Random random;
+
+    Seeder(ApplicationContext context, long randomSeed) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.random = new Random(randomSeed);
+    }
+
+    SeedData seed(int ongs, int adopters, int animals) {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        List<String> ongIds = insertUsers(UserType.JURIDICO, "ong", runId, ongs, passwordHash).ids();
+        Users adopterUsers = insertUsers(UserType.FISICO, "adotante", runId, adopters, passwordHash);
+        List<String> animalIds = insertAnimals(ongIds, animals);
+
+        // As escritas passaram por fora do Hibernate e dos eventos: descarta caches e refaz os índices em memória
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache().evictAllRegions();
+        context.getBean(AnimalStatsService.class).reconcile();
+        context.getBean(AnimalSearchService.class).rebuild();
+
+        return new SeedData(List.copyOf(animalIds), List.copyOf(adopterUsers.emails()), PASSWORD);
+    }
+
+    private Users insertUsers(UserType type, String prefix, String runId, int count, String passwordHash) {
+        List<String> ids = new ArrayList<>(count);
+        List<String> emails = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            String email = prefix + "-" + runId + "-" + i + EMAIL_DOMAIN;
+            ids.add(id);
+            emails.add(email);
+            String document = String.format(type.usesCnpj() ? "%014d" : "%011d", i);
+            rows.add(new Object[]{
+                    id, (type == UserType.JURIDICO ? "ONG " : "Adotante ") + i, email, "4199999" + String.format("%04d", i % 10000),
+                    type.usesCpf() ? document : null, type.usesCnpj() ? document : null,
+                    type.name(), passwordHash, type == UserType.JURIDICO ? "ONG criada pelo teste de carga" : null});
+            if (rows.size() == BATCH_SIZE) {
+                flushUsers(rows);
+            }
+        }
+        flushUsers(rows);
+        return new Users(ids, emails);
+    }
+
+    private void flushUsers(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (id, name, email, phone, cpf, cnpj, user_type, password, description)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""", rows);
+        rows.clear();
+    }
+
+    private List<String> insertAnimals(List<String> ongIds, int count) {
+        CategoryType[] categories = CategoryType.values();
+        List<String> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            rows.add(new Object[]{
+                    id, NAMES[random.nextInt(NAMES.length)] + " " + i,
+                    TRAITS[random.nextInt(TRAITS.length)] + ", " + TRAITS[random.nextInt(TRAITS.length)],
+                    categories[random.nextInt(categories.length)].name(), StatusType.AVAILABLE.name(),
+                    ongIds.get(random.nextInt(ongIds.size()))});
+            if (rows.size() == BATCH_SIZE) {
+                flushAnimals(rows);
+            }
+        }
+        flushAnimals(rows);
+        return ids;
+    }
+
+    private void flushAnimals(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO animals (id, name, description, category, status, ong_id, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)""", rows);
+        rows.clear();
+    }
+
+    private record Users(List<String> ids, List<String> emails) {}
+
+    record SeedData(List<String> animalIds, List<String> adopterEmails, String password) {}
+}
@@ -0,0 +1,34 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.dto.AdoptionHistoryPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.services.AdoptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/adoption")
+@RequiredArgsConstructor
+public class AdoptionController {
+    private final AdoptionService adoptionService;
+
+    // Adoções feitas pelo usuário autenticado, mais recentes primeiro
+    @GetMapping("/mine")
+    public ResponseEntity<ResponseDTO<AdoptionHistoryPageDTO>> myAdoptions(
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size) {
+        return adoptionService.getMyAdoptions(page, size);
+    }
+
+    // Adoções dos animais da ONG autenticada
+    @GetMapping("/ong")
+    public ResponseEntity<ResponseDTO<AdoptionHistoryPageDTO>> ongAdoptions(
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size) {
+        return adoptionService.getOngAdoptions(page, size);
+    }
+}
@@ -1,42 +1,100 @@
 package br.edu.utfpr.alunos.webpet.controllers;
 
+import br.edu.utfpr.alunos.webpet.domain.user.User;
 import br.edu.utfpr.alunos.webpet.dto.AdoptionResponseDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalBulkResultDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalBulkUpdateDTO;
 import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalImportReportDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalSelectionDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalStatsDTO;
 import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.infra.cache.CatalogVersions;
+import br.edu.utfpr.alunos.webpet.services.AnimalImportService;
+import br.edu.utfpr.alunos.webpet.services.AnimalSearchService;
 import br.edu.utfpr.alunos.webpet.services.AnimalService;
+import br.edu.utfpr.alunos.webpet.services.AnimalStatsService;
 import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
 import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/animal")
 @RequiredArgsConstructor
 public class AnimalController {
     private final AnimalService animalService;
+    private final AnimalImportService animalImportService;
+    private final AnimalSearchService animalSearchService;
+    private final AnimalStatsService animalStatsService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersions catalogVersions;
 
     @GetMapping("/animals")
-    public ResponseEntity<ResponseDTO> getAllAnimals(
+    public ResponseEntity<? extends ResponseDTO<?>> getAllAnimals(
             @RequestParam(required = false) CategoryType category,
             @RequestParam(required = false) StatusType status,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "10") int size) {
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            WebRequest request,
+            HttpServletResponse response) {
+        // A listagem é filtrada pela ONG autenticada: a ETag inclui o usuário e caches compartilhados separam por token
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        if (catalogVersions.animals(currentUserVariant()).notModified(request)) {
+            return null;
+        }
+        // no-cache (e não o no-store padrão do Spring Security): o navegador guarda e revalida com If-None-Match
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (after != null) {
+            return animalService.getAllAfter(category, status, after, size);
+        }
         return animalService.getAll(category, status, PageRequest.of(page, size));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ResponseDTO<AnimalPageDTO>> searchAnimals(
+            @RequestParam String q,
+            @RequestParam(required = false) CategoryType category,
+            @RequestParam(required = false) StatusType status,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size) {
+        return animalSearchService.search(q, category, status, page, size);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseDTO<AnimalStatsDTO>> getAnimalStats(@RequestParam(required = false) String ong) {
+        return animalStatsService.getStats(ong);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<AnimalDTO> getAnimalById(@PathVariable String id) {
-    	System.out.println(id);
+    public ResponseEntity<AnimalDTO> getAnimalById(@PathVariable String id, WebRequest request) {
+        if (animalService.getRevision(id).notModified(request)) {
+            return null;
+        }
         AnimalDTO animal = animalService.getById(id);
-        System.out.println(animal);
-        
-        
-        
-        return ResponseEntity.ok(animal);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(animal);
     }
 
     @GetMapping("/animalName/{name}")
@@ -45,24 +103,46 @@ public class AnimalController {
         return ResponseEntity.ok(animals);
     }
 
+    @GetMapping(value = "/animalName/{name}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAnimalsByName(@PathVariable String name) {
+        return ndjson(sink -> animalService.streamByName(name, sink));
+    }
+
     @GetMapping("/animalStatus/{status}")
     public ResponseEntity<List<AnimalDTO>> getAnimalsByStatus(@PathVariable StatusType status) {
         List<AnimalDTO> animals = animalService.getByStatus(status);
         return ResponseEntity.ok(animals);
     }
 
+    @GetMapping(value = "/animalStatus/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAnimalsByStatus(@PathVariable StatusType status) {
+        return ndjson(sink -> animalService.streamByStatus(status, sink));
+    }
+
     @GetMapping("/animalCategory/{category}")
     public ResponseEntity<List<AnimalDTO>> getAnimalsByCategory(@PathVariable CategoryType category) {
         List<AnimalDTO> animals = animalService.getByCategory(category);
         return ResponseEntity.ok(animals);
     }
 
+    @GetMapping(value = "/animalCategory/{category}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAnimalsByCategory(@PathVariable CategoryType category) {
+        return ndjson(sink -> animalService.streamByCategory(category, sink));
+    }
+
     @PostMapping("/createAnimal")
     public ResponseEntity<AnimalDTO> createAnimal(@RequestBody AnimalDTO animalDTO) {
         AnimalDTO createdAnimal = animalService.createAnimal(animalDTO);
         return ResponseEntity.ok(createdAnimal);
     }
 
+    // Corpo lido em streaming: CSV com cabeçalho ou NDJSON, um animal por linha
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseDTO<AnimalImportReportDTO>> importAnimals(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return animalImportService.importAnimals(contentType, body);
+    }
+
     @PutMapping("/updateAnimal/{id}")
     public ResponseEntity<AnimalDTO> updateAnimal(@PathVariable String id, @RequestBody AnimalDTO animalDTO) {
         AnimalDTO updatedAnimal = animalService.updateAnimal(id, animalDTO);
@@ -75,9 +155,52 @@ public class AnimalController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/bulkUpdate")
+    public ResponseEntity<ResponseDTO<AnimalBulkResultDTO>> bulkUpdateAnimals(@RequestBody AnimalBulkUpdateDTO request) {
+        return animalService.bulkUpdate(request);
+    }
+
+    // POST (e não DELETE) porque a seleção vai no corpo, que proxies e clientes HTTP podem descartar num DELETE
+    @PostMapping("/bulkDelete")
+    public ResponseEntity<ResponseDTO<AnimalBulkResultDTO>> bulkDeleteAnimals(@RequestBody AnimalSelectionDTO where) {
+        return animalService.bulkDelete(where);
+    }
+
     @PutMapping("/adopt/{id}")
     public ResponseEntity<AdoptionResponseDTO> adoptAnimal(@PathVariable String id) {
         AdoptionResponseDTO response = animalService.adoptAnimal(id);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // O próprio id (UUID) do usuário: um hash curto poderia colidir e servir a listagem de outra ONG como 304
+    private static String currentUserVariant() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    // Escreve um AnimalDTO por linha à medida que as linhas chegam do banco
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<AnimalDTO>> producer) {
+        ObjectWriter writer = objectMapper.writerFor(AnimalDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                producer.accept(animal -> {
+                    try {
+                        writer.writeValue(generator, animal);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.dto.AnimalPhotoDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.services.AnimalPhotoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/animal/{animalId}/photos")
+@RequiredArgsConstructor
+public class AnimalPhotoController {
+    private final AnimalPhotoService animalPhotoService;
+
+    // Corpo é a própria imagem (sem multipart), gravada em disco à medida que chega
+    @PostMapping(consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE})
+    public ResponseEntity<ResponseDTO<AnimalPhotoDTO>> uploadPhoto(
+            @PathVariable String animalId,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength,
+            InputStream body) throws IOException {
+        return animalPhotoService.upload(animalId, contentLength, body);
+    }
+
+    @GetMapping
+    public ResponseEntity<ResponseDTO<List<AnimalPhotoDTO>>> getPhotos(@PathVariable String animalId) {
+        return animalPhotoService.list(animalId);
+    }
+
+    @DeleteMapping("/{photoId}")
+    public ResponseEntity<Void> deletePhoto(@PathVariable String animalId, @PathVariable String photoId) {
+        animalPhotoService.delete(animalId, photoId);
+        return ResponseEntity.noContent().build();
+    }
+}
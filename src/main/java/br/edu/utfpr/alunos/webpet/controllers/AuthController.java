@@ -5,13 +5,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import br.edu.utfpr.alunos.webpet.dto.LoginRequestDTO;
 import br.edu.utfpr.alunos.webpet.dto.RegisterRequestDTO;
 import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
 import br.edu.utfpr.alunos.webpet.services.AuthService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -19,21 +22,25 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public ResponseEntity<ResponseDTO> register(@RequestBody RegisterRequestDTO body) {
+    public ResponseEntity<ResponseDTO<?>> register(@RequestBody RegisterRequestDTO body) {
         try {
             return ResponseEntity.ok(authService.register(body));
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Erro ao registrar usuário {}", body.email(), e);
             return ResponseEntity.status(500).body(ResponseDTO.error("Erro ao registrar usuário: " + e.getMessage()));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ResponseDTO> login(@RequestBody LoginRequestDTO body) {
+    public ResponseEntity<ResponseDTO<?>> login(@RequestBody LoginRequestDTO body) {
         try {
             return ResponseEntity.ok(authService.login(body));
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Erro ao realizar login de {}", body.email(), e);
             return ResponseEntity.status(500).body(ResponseDTO.error("Erro ao realizar login: " + e.getMessage()));
         }
     }
@@ -1,12 +1,18 @@
 package br.edu.utfpr.alunos.webpet.controllers;
 
 import br.edu.utfpr.alunos.webpet.dto.DonationResponseDTO;
+import br.edu.utfpr.alunos.webpet.dto.DonationTotalsDTO;
+import br.edu.utfpr.alunos.webpet.dto.DonorTotalDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.services.DonationLedgerService;
 import br.edu.utfpr.alunos.webpet.services.DonationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -14,14 +20,33 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class DonationController {
     private final DonationService donationService;
+    private final DonationLedgerService donationLedgerService;
 
     @PostMapping("/donate")
-    public ResponseEntity<DonationResponseDTO> donate(@RequestBody Map<String, Object> body) {
+    public ResponseEntity<DonationResponseDTO> donate(@RequestBody Map<String, Object> body,
+                                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         BigDecimal amount = new BigDecimal(body.get("amount").toString());
         String paymentMethod = body.get("paymentMethod").toString();
-        
-        DonationResponseDTO response = donationService.donate(amount, paymentMethod);
 
-        return ResponseEntity.ok(response);
+        return donationService.donate(amount, paymentMethod, idempotencyKey);
+    }
+
+    @GetMapping("/totals/me")
+    public ResponseEntity<ResponseDTO<DonorTotalDTO>> myTotal() {
+        return donationLedgerService.getMyTotal();
+    }
+
+    @GetMapping("/totals/payment-methods")
+    public ResponseEntity<ResponseDTO<DonationTotalsDTO>> paymentMethodTotals() {
+        return donationLedgerService.getPaymentMethodTotals();
+    }
+
+    // Sem parâmetros devolve o total de hoje
+    @GetMapping("/totals/days")
+    public ResponseEntity<ResponseDTO<DonationTotalsDTO>> dayTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate today = LocalDate.now();
+        return donationLedgerService.getDayTotals(from != null ? from : today, to != null ? to : today);
     }
 }
\ No newline at end of file
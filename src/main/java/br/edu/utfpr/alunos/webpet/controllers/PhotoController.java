@@ -0,0 +1,32 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.services.AnimalPhotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+// Arquivos endereçados pelo SHA-256 do conteúdo; a resposta é escrita direto, sem passar por conversores
+@RestController
+@RequestMapping("/photos")
+@RequiredArgsConstructor
+public class PhotoController {
+    private final AnimalPhotoService animalPhotoService;
+
+    @GetMapping("/{hash:[0-9a-f]{64}}.{extension:jpg|png|gif}")
+    public void getOriginal(@PathVariable String hash, @PathVariable String extension,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        animalPhotoService.sendOriginal(hash, extension, request, response);
+    }
+
+    @GetMapping("/thumbnails/{size:[0-9]{1,5}}/{hash:[0-9a-f]{64}}.jpg")
+    public void getThumbnail(@PathVariable int size, @PathVariable String hash,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        animalPhotoService.sendThumbnail(hash, size, request, response);
+    }
+}
@@ -1,15 +1,18 @@
 package br.edu.utfpr.alunos.webpet.controllers;
 
 import java.util.List;
-import java.util.Map;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
 import br.edu.utfpr.alunos.webpet.dto.UserListDTO;
+import br.edu.utfpr.alunos.webpet.dto.UsersDTO;
+import br.edu.utfpr.alunos.webpet.infra.http.ResponseFormats;
 import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
 import br.edu.utfpr.alunos.webpet.services.UserService;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +25,7 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/users")
-    public ResponseEntity<ResponseDTO> getUsers() {
+    public ResponseEntity<ResponseDTO<UsersDTO>> getUsers() {
         List<UserListDTO> users = userRepository.findAll().stream()
                 .map(user -> new UserListDTO(
                         user.getId(),
@@ -35,14 +38,21 @@ public class UserController {
                 ))
                 .toList();
 
-        Map<String, Object> data = Map.of("users", users);
-        return ResponseEntity.ok(ResponseDTO.success("Lista de usuários obtida com sucesso", data));
+        return ResponseEntity.ok(ResponseDTO.success("Lista de usuários obtida com sucesso", new UsersDTO(users)));
     }
 
+    // Snapshot pré-serializado do diretório, um por formato: sem consulta nem Jackson por requisição
     @GetMapping("/ongs")
-    public ResponseEntity<ResponseDTO> getAllByUserType() {
-        List<Map<String, String>> ongsData = userService.getAllOngs();
-        Map<String, Object> data = Map.of("ongs", ongsData);
-        return ResponseEntity.ok(ResponseDTO.success("Lista de ONGs obtida com sucesso", data));
+    public ResponseEntity<byte[]> getAllByUserType(WebRequest request) {
+        UserService.OngDirectory directory = userService.getOngDirectory();
+        String format = ResponseFormats.negotiated(request);
+        if (directory.revision().notModified(request)) {
+            return null;
+        }
+        // no-cache (e não o no-store padrão do Spring Security): o navegador guarda e revalida com If-None-Match
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(ResponseFormats.mediaType(format))
+                .body(directory.body(format));
     }
 }
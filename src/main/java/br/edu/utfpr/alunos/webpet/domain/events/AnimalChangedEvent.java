@@ -0,0 +1,49 @@
+package br.edu.utfpr.alunos.webpet.domain.events;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+
+// before == null em criações, after == null em remoções
+public record AnimalChangedEvent(AnimalSnapshot before, AnimalSnapshot after) {
+
+    public static AnimalChangedEvent created(Animal animal) {
+        return new AnimalChangedEvent(null, AnimalSnapshot.of(animal));
+    }
+
+    public static AnimalChangedEvent updated(AnimalSnapshot before, Animal animal) {
+        return new AnimalChangedEvent(before, AnimalSnapshot.of(animal));
+    }
+
+    public static AnimalChangedEvent deleted(AnimalSnapshot before) {
+        return new AnimalChangedEvent(before, null);
+    }
+
+    public String animalId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public record AnimalSnapshot(
+            String id,
+            String ongId,
+            String name,
+            String description,
+            CategoryType category,
+            StatusType status) {
+
+        public AnimalSnapshot withStatus(StatusType newStatus) {
+            return new AnimalSnapshot(id, ongId, name, description, category, newStatus);
+        }
+
+        public static AnimalSnapshot of(Animal animal) {
+            return new AnimalSnapshot(
+                    animal.getId(),
+                    animal.getOng() != null ? animal.getOng().getId() : null,
+                    animal.getName(),
+                    animal.getDescription(),
+                    animal.getCategory(),
+                    animal.getStatus()
+            );
+        }
+    }
+}
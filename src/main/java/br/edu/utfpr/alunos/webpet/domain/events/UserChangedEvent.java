@@ -0,0 +1,5 @@
+package br.edu.utfpr.alunos.webpet.domain.events;
+
+// Publicado pelo UserChangeListener em inserções, alterações e remoções de usuários
+public record UserChangedEvent(String userId, String email) {
+}
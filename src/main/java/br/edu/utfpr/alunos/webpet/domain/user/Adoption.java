@@ -9,7 +9,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "adoptions")
+@Table(name = "adoptions", indexes = {
+        @Index(name = "idx_adoptions_user_id_date", columnList = "user_id, adoption_date"),
+        @Index(name = "idx_adoptions_animal_id", columnList = "animal_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,11 +22,12 @@ public class Adoption {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @ManyToOne
+    // LAZY: as leituras do histórico trazem animal, ONG e adotante com JOIN FETCH numa única consulta
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id", nullable = false)
     private Animal animal;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User adopter;
 
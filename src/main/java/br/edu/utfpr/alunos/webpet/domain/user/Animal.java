@@ -1,5 +1,6 @@
 package br.edu.utfpr.alunos.webpet.domain.user;
 
+import br.edu.utfpr.alunos.webpet.infra.cache.HibernateCacheConfig;
 import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
 import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
 import jakarta.persistence.*;
@@ -7,6 +8,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Getter
@@ -14,6 +21,8 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "animals")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ANIMAL_REGION)
 public class Animal {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -32,4 +41,14 @@ public class Animal {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ong_id", nullable = false)
     private User ong;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Last-Modified do GET condicional; o UPDATE em massa de updateStatusIf também grava o campo
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package br.edu.utfpr.alunos.webpet.domain.user;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.PhotoFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+// Referência a um arquivo do PhotoStorage; o nome do arquivo é o hash (SHA-256) do conteúdo mais a extensão do formato
+@Entity
+@Table(name = "animal_photos", indexes = {
+        @Index(name = "idx_animal_photos_hash", columnList = "hash")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_animal_photos_animal_hash", columnNames = {"animal_id", "hash"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalPhoto {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "animal_id", nullable = false)
+    private Animal animal;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PhotoFormat format;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int height;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private Instant createdAt;
+}
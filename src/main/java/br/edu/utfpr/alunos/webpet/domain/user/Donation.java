@@ -6,7 +6,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "donations")
+@Table(name = "donations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_donations_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,4 +30,7 @@ public class Donation {
 
     @Column(nullable = false)
     private LocalDateTime donationDate;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package br.edu.utfpr.alunos.webpet.domain.user;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.DonationTotalScope;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Totais acumulados de doações por doador, forma de pagamento e dia, mantidos a cada lote gravado
+@Entity
+@Table(name = "donation_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationTotal {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long donationCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private DonationTotalScope scope;
+
+        @Column(name = "scope_key", nullable = false)
+        private String scopeKey;
+    }
+}
@@ -1,15 +1,22 @@
 package br.edu.utfpr.alunos.webpet.domain.user;
 
 
+import br.edu.utfpr.alunos.webpet.infra.cache.HibernateCacheConfig;
+import br.edu.utfpr.alunos.webpet.infra.security.UserChangeListener;
 import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
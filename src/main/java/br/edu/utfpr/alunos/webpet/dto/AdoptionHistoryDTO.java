@@ -0,0 +1,28 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+
+import java.time.LocalDateTime;
+
+public record AdoptionHistoryDTO(
+        String id,
+        AnimalDTO animal,
+        UserDTO ong,
+        UserDTO adopter,
+        LocalDateTime adoptionDate
+) {
+    public static AdoptionHistoryDTO from(Adoption adoption) {
+        return new AdoptionHistoryDTO(
+                adoption.getId(),
+                AnimalDTO.from(adoption.getAnimal()),
+                user(adoption.getAnimal().getOng()),
+                user(adoption.getAdopter()),
+                adoption.getAdoptionDate()
+        );
+    }
+
+    private static UserDTO user(User user) {
+        return new UserDTO(user.getId(), user.getName(), user.getEmail());
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record AdoptionHistoryPageDTO(
+        List<AdoptionHistoryDTO> adoptions,
+        long totalElements,
+        int totalPages,
+        int page
+) {
+    public static AdoptionHistoryPageDTO from(Page<Adoption> page) {
+        return new AdoptionHistoryPageDTO(
+                page.getContent().stream().map(AdoptionHistoryDTO::from).toList(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.getNumber());
+    }
+}
@@ -0,0 +1,12 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+
+// Novos valores para os animais de `where`; campo nulo não é alterado
+public record AnimalBulkUpdateDTO(
+        AnimalSelectionDTO where,
+        CategoryType category,
+        StatusType status
+) {
+}
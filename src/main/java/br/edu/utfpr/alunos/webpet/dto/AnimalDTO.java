@@ -1,7 +1,18 @@
 package br.edu.utfpr.alunos.webpet.dto;
 
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
 import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
 import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
 
 public record AnimalDTO(String id, String name, String description, CategoryType category, StatusType status) {
+
+    public static AnimalDTO from(Animal animal) {
+        return new AnimalDTO(
+                animal.getId(),
+                animal.getName(),
+                animal.getDescription(),
+                animal.getCategory(),
+                animal.getStatus()
+        );
+    }
 }
@@ -0,0 +1,7 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+
+public record AnimalFacetCount(String ongId, CategoryType category, StatusType status, long count) {
+}
@@ -0,0 +1,14 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import java.util.List;
+
+// `errors` traz no máximo as primeiras linhas rejeitadas; `rejected` conta todas
+public record AnimalImportReportDTO(
+        int received,
+        int imported,
+        int rejected,
+        List<RowError> errors
+) {
+    public record RowError(long line, String message) {
+    }
+}
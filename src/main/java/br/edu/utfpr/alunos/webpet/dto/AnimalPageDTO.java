@@ -0,0 +1,17 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record AnimalPageDTO(
+        List<AnimalDTO> animals,
+        long totalElements,
+        int totalPages,
+        int page,
+        int size
+) {
+    public static AnimalPageDTO from(Page<AnimalDTO> page) {
+        return new AnimalPageDTO(page.getContent(), page.getTotalElements(), page.getTotalPages(), page.getNumber(), page.getSize());
+    }
+}
@@ -0,0 +1,36 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.domain.user.AnimalPhoto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// `url` e `thumbnails` (lado em pixels -> URL) são endereços imutáveis, derivados do hash do conteúdo
+public record AnimalPhotoDTO(
+        String id,
+        String hash,
+        String contentType,
+        long size,
+        int width,
+        int height,
+        String url,
+        Map<Integer, String> thumbnails
+) {
+    public static AnimalPhotoDTO from(AnimalPhoto photo, List<Integer> thumbnailSizes) {
+        Map<Integer, String> thumbnails = new LinkedHashMap<>();
+        for (int size : thumbnailSizes) {
+            thumbnails.put(size, "/photos/thumbnails/" + size + "/" + photo.getHash() + ".jpg");
+        }
+        return new AnimalPhotoDTO(
+                photo.getId(),
+                photo.getHash(),
+                photo.getFormat().getContentType(),
+                photo.getSize(),
+                photo.getWidth(),
+                photo.getHeight(),
+                "/photos/" + photo.getHash() + "." + photo.getFormat().getExtension(),
+                thumbnails
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+
+import java.util.List;
+
+// Animais da ONG autenticada alvo de uma operação em massa: pelos ids, pelo filtro ou pelos dois combinados
+public record AnimalSelectionDTO(
+        List<String> ids,
+        CategoryType category,
+        StatusType status
+) {
+}
@@ -0,0 +1,11 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import java.util.List;
+
+public record AnimalSliceDTO(
+        List<AnimalDTO> animals,
+        String nextCursor,
+        boolean hasNext,
+        int size
+) {
+}
@@ -0,0 +1,16 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+
+import java.util.Map;
+
+// `ong` é null nas estatísticas de todas as ONGs
+public record AnimalStatsDTO(
+        String ong,
+        long total,
+        Map<CategoryType, Long> byCategory,
+        Map<StatusType, Long> byStatus,
+        Map<CategoryType, Map<StatusType, Long>> byCategoryAndStatus
+) {
+}
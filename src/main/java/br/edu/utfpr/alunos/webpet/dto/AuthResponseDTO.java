@@ -0,0 +1,16 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+
+public record AuthResponseDTO(
+        String id,
+        String name,
+        String email,
+        String token,
+        UserType userType
+) {
+    public static AuthResponseDTO of(User user, String token) {
+        return new AuthResponseDTO(user.getId(), user.getName(), user.getEmail(), token, user.getUserType());
+    }
+}
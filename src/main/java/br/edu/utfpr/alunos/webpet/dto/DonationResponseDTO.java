@@ -8,5 +8,6 @@ public record DonationResponseDTO(
         UserDTO donor,
         BigDecimal amount,
         String paymentMethod,
-        LocalDateTime donationDate
+        LocalDateTime donationDate,
+        String idempotencyKey
 ) {}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import br.edu.utfpr.alunos.webpet.domain.user.DonationTotal;
+import br.edu.utfpr.alunos.webpet.utils.enums.DonationTotalScope;
+
+import java.math.BigDecimal;
+
+public record DonationTotalDTO(
+        DonationTotalScope scope,
+        String key,
+        BigDecimal totalAmount,
+        long donationCount
+) {
+    public static DonationTotalDTO from(DonationTotal total) {
+        return new DonationTotalDTO(
+                total.getId().getScope(),
+                total.getId().getScopeKey(),
+                total.getTotalAmount(),
+                total.getDonationCount()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// `from` e `to` só nos totais por dia
+public record DonationTotalsDTO(
+        List<DonationTotalDTO> totals,
+        BigDecimal totalAmount,
+        long donationCount,
+        @JsonInclude(JsonInclude.Include.NON_NULL) LocalDate from,
+        @JsonInclude(JsonInclude.Include.NON_NULL) LocalDate to
+) {
+    public static DonationTotalsDTO of(List<DonationTotalDTO> totals, LocalDate from, LocalDate to) {
+        return new DonationTotalsDTO(
+                totals,
+                totals.stream().map(DonationTotalDTO::totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add),
+                totals.stream().mapToLong(DonationTotalDTO::donationCount).sum(),
+                from,
+                to
+        );
+    }
+}
@@ -0,0 +1,4 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+public record DonorTotalDTO(DonationTotalDTO total) {
+}
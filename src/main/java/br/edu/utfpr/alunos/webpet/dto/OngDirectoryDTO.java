@@ -0,0 +1,6 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+import java.util.List;
+
+public record OngDirectoryDTO(List<OngDirectoryEntryDTO> ongs) {
+}
@@ -0,0 +1,11 @@
+package br.edu.utfpr.alunos.webpet.dto;
+
+public record OngDirectoryEntryDTO(
+        String id,
+        String name,
+        String email,
+        String phone,
+        String cnpj,
+        String description
+) {
+}
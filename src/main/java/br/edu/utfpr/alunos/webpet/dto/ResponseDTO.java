@@ -1,19 +1,18 @@
 package br.edu.utfpr.alunos.webpet.dto;
 
-import java.util.Map;
-
-public record ResponseDTO(
+// Envelope das respostas; `data` é um record tipado nas rotas quentes (serializador resolvido uma vez pelo Jackson)
+public record ResponseDTO<T>(
     boolean success,
     String message,
-    Map<String, Object> data
+    T data
 ) {
     // Constructor for success responses with data
-    public static ResponseDTO success(String message, Map<String, Object> data) {
-        return new ResponseDTO(true, message, data);
+    public static <T> ResponseDTO<T> success(String message, T data) {
+        return new ResponseDTO<>(true, message, data);
     }
 
     // Constructor for error responses
-    public static ResponseDTO error(String message) {
-        return new ResponseDTO(false, message, null);
+    public static <T> ResponseDTO<T> error(String message) {
+        return new ResponseDTO<>(false, message, null);
     }
 }
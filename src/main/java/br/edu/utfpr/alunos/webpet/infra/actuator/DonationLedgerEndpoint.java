@@ -0,0 +1,28 @@
+package br.edu.utfpr.alunos.webpet.infra.actuator;
+
+import br.edu.utfpr.alunos.webpet.services.DonationLedgerService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/donationledger verifica o razão contra donations; POST reconstrói do zero (somente ADMIN)
+@Component
+@Endpoint(id = "donationledger")
+public class DonationLedgerEndpoint {
+    private final DonationLedgerService donationLedgerService;
+
+    public DonationLedgerEndpoint(DonationLedgerService donationLedgerService) {
+        this.donationLedgerService = donationLedgerService;
+    }
+
+    @ReadOperation
+    public DonationLedgerService.Verification verify() {
+        return donationLedgerService.verify();
+    }
+
+    @WriteOperation
+    public DonationLedgerService.Rebuild rebuild() {
+        return donationLedgerService.rebuild();
+    }
+}
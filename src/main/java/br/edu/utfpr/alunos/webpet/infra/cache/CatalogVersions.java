@@ -0,0 +1,32 @@
+package br.edu.utfpr.alunos.webpet.infra.cache;
+
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Versão do catálogo de animais, usada como ETag da listagem (o diretório de ONGs usa o hash do snapshot).
+// Sobe depois do commit de cada alteração, então uma ETag nunca é emitida para dados ainda não visíveis.
+// O prefixo com o horário de subida invalida as ETags de execuções anteriores. O contador é da
+// instância: com mais de uma réplica seria preciso uma versão compartilhada (ex.: tabela ou Redis).
+@Component
+public class CatalogVersions {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<State> animals = new AtomicReference<>(new State(0, System.currentTimeMillis()));
+
+    // `variant` separa representações diferentes na mesma URL (ex.: listagem filtrada pela ONG autenticada)
+    public Revision animals(String variant) {
+        State current = animals.get();
+        String tag = "animals-" + epoch + "-" + current.value() + (variant != null ? "-" + variant : "");
+        return new Revision(tag, current.lastModified());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        animals.updateAndGet(current -> new State(current.value() + 1, System.currentTimeMillis()));
+    }
+
+    private record State(long value, long lastModified) {
+    }
+}
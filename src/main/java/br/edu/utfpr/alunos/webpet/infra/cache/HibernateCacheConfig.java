@@ -0,0 +1,61 @@
+package br.edu.utfpr.alunos.webpet.infra.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Cache de segundo nível do Hibernate: regiões JCache (Caffeine) criadas aqui com tamanho e TTL limitados
+@Configuration
+public class HibernateCacheConfig {
+    public static final String ANIMAL_REGION = "animal";
+    public static final String USER_REGION = "user";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${webpet.cache.animal.maximum-size:10000}") long animalMaximumSize,
+            @Value("${webpet.cache.user.maximum-size:10000}") long userMaximumSize,
+            @Value("${webpet.cache.query.maximum-size:2000}") long queryMaximumSize,
+            @Value("${webpet.cache.ttl:10m}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI própria por contexto: o provider guarda CacheManagers por URI e vários contextos (ex.: testes) coexistem na JVM
+        URI uri = URI.create(getClass().getName() + "#" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        cacheManager.createCache(ANIMAL_REGION, region(animalMaximumSize, ttl));
+        cacheManager.createCache(USER_REGION, region(userMaximumSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaximumSize, ttl));
+        // Timestamps por tabela: poucas entradas e não podem expirar antes dos resultados de consulta
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(1000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
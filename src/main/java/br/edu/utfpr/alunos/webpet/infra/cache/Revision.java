@@ -0,0 +1,17 @@
+package br.edu.utfpr.alunos.webpet.infra.cache;
+
+import br.edu.utfpr.alunos.webpet.infra.http.ResponseFormats;
+import org.springframework.web.context.request.WebRequest;
+
+// Identificação de uma versão de recurso para GET condicional: valor da ETag (sem aspas) e Last-Modified em epoch ms
+public record Revision(String tag, long lastModified) {
+
+    // true quando If-None-Match / If-Modified-Since batem; a resposta já fica como 304 e o handler não deve gerar corpo.
+    // Em ambos os casos os cabeçalhos ETag e Last-Modified são gravados na resposta. JSON, CBOR e Smile da mesma
+    // versão são representações diferentes, então o formato negociado entra na ETag. A ETag é fraca (W/) porque
+    // o Tomcat não comprime respostas com ETag forte; If-None-Match já usa comparação fraca, então o 304 não muda.
+    public boolean notModified(WebRequest request) {
+        String format = ResponseFormats.negotiated(request);
+        return request.checkNotModified("W/\"" + tag + (format == null ? "" : "-" + format) + "\"", lastModified);
+    }
+}
@@ -1,16 +1,42 @@
 package br.edu.utfpr.alunos.webpet.infra.exception;
 
 import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ResponseDTO<?>> handleResponseStatusException(ResponseStatusException e) {
+        return ResponseEntity
+                .status(e.getStatusCode())
+                .headers(e.getHeaders())
+                .body(ResponseDTO.error(e.getReason()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ResponseDTO<?>> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ResponseDTO.error("O registro foi alterado por outra requisição, tente novamente"));
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ResponseDTO<?>> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException e) {
+        return ResponseEntity
+                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .headers(e.getHeaders())
+                .body(ResponseDTO.error("Content-Type não suportado: use " + e.getSupportedMediaTypes()));
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ResponseDTO> handleException(Exception e) {
+    public ResponseEntity<ResponseDTO<?>> handleException(Exception e) {
         e.printStackTrace();
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
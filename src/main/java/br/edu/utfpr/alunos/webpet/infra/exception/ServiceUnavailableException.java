@@ -0,0 +1,24 @@
+package br.edu.utfpr.alunos.webpet.infra.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+// 503 com Retry-After, usado quando uma fila interna está cheia e o cliente deve tentar de novo
+public class ServiceUnavailableException extends ResponseStatusException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String reason, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.utfpr.alunos.webpet.infra.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+// ObjectMapper de cada formato de resposta, todos com a configuração do Spring Boot. Usado pelos conversores
+// do Spring MVC e pelas respostas pré-serializadas, que precisam de um corpo por formato negociado.
+@Component
+public class ResponseEncoders {
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    // Builder do Spring Boot é prototype: cada getObject() devolve um novo, já com os módulos e features da aplicação
+    @Autowired
+    public ResponseEncoders(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this(objectMapper,
+                mapperBuilder.getObject().factory(new CBORFactory()).build(),
+                mapperBuilder.getObject().factory(new SmileFactory()).build());
+    }
+
+    public ResponseEncoders(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+        this.json = json;
+        this.cbor = cbor;
+        this.smile = smile;
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    // `format` como em ResponseFormats.negotiated: "cbor", "smile" ou null para JSON
+    public byte[] encode(String format, Object value) throws JsonProcessingException {
+        ObjectMapper mapper = format == null ? json : switch (format) {
+            case "cbor" -> cbor;
+            case "smile" -> smile;
+            default -> json;
+        };
+        return mapper.writeValueAsBytes(value);
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.utfpr.alunos.webpet.infra.http;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// CBOR e Smile por negociação (Accept: application/cbor ou application/x-jackson-smile), com a mesma
+// configuração do ObjectMapper do Spring Boot. A compressão gzip fica no Tomcat (server.compression.*).
+@Configuration
+public class ResponseEncodingConfig implements WebMvcConfigurer {
+    private final ResponseEncoders encoders;
+
+    public ResponseEncodingConfig(ResponseEncoders encoders) {
+        this.encoders = encoders;
+    }
+
+    // No fim da lista: o conversor JSON continua sendo o escolhido para */* e Accept ausente
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(encoders.cbor()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(encoders.smile()));
+    }
+
+    // O corpo depende do Accept; caches intermediários precisam separar as representações
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+}
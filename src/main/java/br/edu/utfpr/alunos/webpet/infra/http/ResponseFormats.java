@@ -0,0 +1,55 @@
+package br.edu.utfpr.alunos.webpet.infra.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+// Formatos de resposta aceitos via Accept, além do JSON padrão
+public final class ResponseFormats {
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private ResponseFormats() {
+    }
+
+    public static MediaType mediaType(String format) {
+        return format == null ? MediaType.APPLICATION_JSON : switch (format) {
+            case "cbor" -> CBOR;
+            case "smile" -> SMILE;
+            default -> MediaType.APPLICATION_JSON;
+        };
+    }
+
+    // Formato que a negociação do Spring vai escolher para esta requisição: "cbor", "smile" ou null para JSON.
+    // O JSON vem antes dos binários na lista de conversores, então */* e Accept ausente continuam em JSON.
+    public static String negotiated(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept).stream()
+                    .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                    .toList();
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        for (MediaType type : accepted) {
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (type.includes(CBOR)) {
+                return "cbor";
+            }
+            if (type.includes(SMILE)) {
+                return "smile";
+            }
+        }
+        return null;
+    }
+}
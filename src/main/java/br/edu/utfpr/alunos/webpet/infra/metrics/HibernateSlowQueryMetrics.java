@@ -0,0 +1,33 @@
+package br.edu.utfpr.alunos.webpet.infra.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+// O Hibernate guarda cada SQL que passou de hibernate.log_slow_query com o maior tempo visto;
+// os hibernate.* do Spring Boot não expõem isso. O texto das consultas fica no log org.hibernate.SQL_SLOW.
+@Component
+public class HibernateSlowQueryMetrics implements MeterBinder {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateSlowQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Gauge.builder("hibernate.query.slow", statistics, stats -> stats.getSlowQueries().size())
+                .description("Comandos SQL distintos que passaram do limite de consulta lenta")
+                .register(registry);
+        Gauge.builder("hibernate.query.slow.max", statistics,
+                        stats -> stats.getSlowQueries().values().stream().mapToLong(Long::longValue).max().orElse(0))
+                .description("Maior tempo de execução entre as consultas lentas")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
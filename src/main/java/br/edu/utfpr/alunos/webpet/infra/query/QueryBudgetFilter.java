@@ -0,0 +1,72 @@
+package br.edu.utfpr.alunos.webpet.infra.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Conta os comandos SQL de cada requisição (incluindo os do SecurityFilter), publica em
+// http.server.requests.queries e avisa no log quando passa do orçamento ou repete o mesmo SQL (N+1).
+// Respostas em streaming (NDJSON) terminam num despacho assíncrono e só contam o que rodou antes dele.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final int maxQueries;
+    private final int nPlusOneThreshold;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry,
+                             @Value("${webpet.query-budget.max-queries:10}") int maxQueries,
+                             @Value("${webpet.query-budget.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueries = maxQueries;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop(statistics);
+            report(request, statistics);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("Comandos SQL emitidos pelo Hibernate por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.count());
+
+        if (maxQueries > 0 && statistics.count() > maxQueries) {
+            log.warn("{} {} executou {} comandos SQL (orçamento: {})",
+                    request.getMethod(), request.getRequestURI(), statistics.count(), maxQueries);
+        }
+        Map<String, Integer> repeated = statistics.repeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            repeated.forEach((sql, times) -> log.warn("Possível N+1 em {} {} ({}): {}x {}",
+                    request.getMethod(), request.getRequestURI(), uri, times, sql));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.utfpr.alunos.webpet.infra.query;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Escopos de contagem por thread. Escopos aninhados (o filtro da requisição e um teste, por exemplo)
+// contam os mesmos comandos.
+public final class QueryCounter {
+    private static final ThreadLocal<Deque<QueryStatistics>> SCOPES = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryStatistics start() {
+        Deque<QueryStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        QueryStatistics statistics = new QueryStatistics();
+        scopes.push(statistics);
+        return statistics;
+    }
+
+    public static void stop(QueryStatistics statistics) {
+        Deque<QueryStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(statistics);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void record(String sql) {
+        Deque<QueryStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (QueryStatistics statistics : scopes) {
+            statistics.record(sql);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package br.edu.utfpr.alunos.webpet.infra.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Chamado pelo Hibernate a cada comando preparado; consultas feitas direto pelo JdbcTemplate não passam aqui
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.utfpr.alunos.webpet.infra.query;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Comandos SQL emitidos pelo Hibernate dentro de um escopo (uma requisição, um trecho de teste)
+public class QueryStatistics {
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+
+    void record(String sql) {
+        count++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // O mesmo SQL repetido várias vezes num escopo é o sinal típico de N+1 (um SELECT por item)
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    public Map<String, Integer> statements() {
+        return Map.copyOf(statements);
+    }
+}
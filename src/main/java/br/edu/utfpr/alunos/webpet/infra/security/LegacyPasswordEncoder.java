@@ -0,0 +1,42 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+// Confere senhas gravadas antes do prefixo {id}: hash BCrypt puro ou texto plano de contas antigas.
+// Só serve para matches; após o login o AuthService regrava a senha no formato atual.
+public class LegacyPasswordEncoder implements PasswordEncoder {
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final PasswordEncoder bcrypt;
+
+    public LegacyPasswordEncoder(PasswordEncoder bcrypt) {
+        this.bcrypt = bcrypt;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("Formato legado é somente leitura");
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (BCRYPT.matcher(encodedPassword).matches()) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        return MessageDigest.isEqual(
+                rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return true;
+    }
+}
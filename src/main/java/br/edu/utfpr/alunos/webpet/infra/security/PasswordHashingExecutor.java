@@ -0,0 +1,92 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import br.edu.utfpr.alunos.webpet.infra.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt roda só nestas threads: uma rajada de logins ocupa no máximo `threads` núcleos e, com a fila
+// cheia, é recusada na hora com 503 em vez de prender todas as threads do Tomcat
+@Component
+public class PasswordHashingExecutor {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public PasswordHashingExecutor(@Value("${api.security.password-hashing.threads:0}") int threads,
+                                   @Value("${api.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${api.security.password-hashing.timeout:5s}") Duration timeout,
+                                   MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        // executor{name=password.hashing} mede o tempo de BCrypt; executor.idle, a espera na fila
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.queueFull = rejectedCounter(meterRegistry, "queue_full");
+        this.timedOut = rejectedCounter(meterRegistry, "timeout");
+    }
+
+    public <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new ServiceUnavailableException("Muitas autenticações simultâneas, tente novamente", RETRY_AFTER);
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException("Muitas autenticações simultâneas, tente novamente", RETRY_AFTER);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("password.hashing.rejected")
+                .description("Pedidos de hash recusados com 503")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
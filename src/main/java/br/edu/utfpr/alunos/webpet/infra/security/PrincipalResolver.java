@@ -0,0 +1,125 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import br.edu.utfpr.alunos.webpet.domain.events.UserChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+// Monta o principal a partir das claims do JWT; tokens sem claims ou emitidos antes de uma
+// alteração do usuário caem num cache limitado (tamanho + TTL) indexado pelo subject.
+@Component
+public class PrincipalResolver {
+    private final UserRepository userRepository;
+    private final Cache<String, User> principals;
+    // Sem limite de tamanho: descartar uma marca faria um token anterior à alteração voltar a valer pelas claims.
+    // Cada marca dura a validade de um token emitido no momento da alteração
+    private final Cache<String, Instant> recentChanges;
+    private final Timer claimsTimer;
+    private final Timer cacheTimer;
+    private final Timer databaseTimer;
+
+    public PrincipalResolver(UserRepository userRepository,
+                             TokenService tokenService,
+                             @Value("${api.security.principal-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${api.security.principal-cache.ttl:5m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.recentChanges = Caffeine.newBuilder()
+                .expireAfter(Expiry.writing((String id, Instant changedAt) -> tokenService.tokenLifetime()))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+        this.claimsTimer = resolveTimer(meterRegistry, "claims");
+        this.cacheTimer = resolveTimer(meterRegistry, "cache");
+        this.databaseTimer = resolveTimer(meterRegistry, "database");
+    }
+
+    public User resolve(DecodedJWT token) {
+        long start = System.nanoTime();
+        String id = token.getClaim(TokenService.CLAIM_ID).asString();
+        if (id != null && !changedSince(id, token.getIssuedAtAsInstant())) {
+            User user = fromClaims(token, id);
+            claimsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return user;
+        }
+        boolean[] loaded = new boolean[1];
+        User user = principals.get(token.getSubject(), subject -> {
+            loaded[0] = true;
+            return userRepository.findByEmail(subject).orElse(null);
+        });
+        (loaded[0] ? databaseTimer : cacheTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return user;
+    }
+
+    // No flush: a partir daqui os tokens anteriores vão ao banco. Até o commit, porém, o banco ainda
+    // devolve a linha antiga, e quem a carregar nessa janela a põe no cache
+    public void evict(User user) {
+        if (user.getId() != null) {
+            recentChanges.put(user.getId(), Instant.now());
+        }
+        evictPrincipals(user.getId(), user.getEmail());
+    }
+
+    // Depois do commit: descarta o que foi carregado entre o flush e o commit. O invalidate pelo e-mail
+    // espera uma carga em andamento para a mesma chave terminar antes de remover
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictPrincipals(event.userId(), event.email());
+    }
+
+    private void evictPrincipals(String id, String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+        if (id != null) {
+            principals.asMap().values().removeIf(cached -> id.equals(cached.getId()));
+        }
+    }
+
+    private static Timer resolveTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("security.principal.resolve")
+                .description("Montagem do usuário autenticado a partir do JWT")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // O iat do JWT tem precisão de segundos: a alteração é comparada no mesmo segundo para que o token emitido
+    // logo depois dela (ex.: login que regrava a senha legada) não seja tratado como anterior à alteração
+    private boolean changedSince(String id, Instant issuedAt) {
+        Instant changedAt = recentChanges.getIfPresent(id);
+        return changedAt != null && (issuedAt == null || issuedAt.isBefore(changedAt.truncatedTo(ChronoUnit.SECONDS)));
+    }
+
+    private User fromClaims(DecodedJWT token, String id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(token.getSubject());
+        user.setName(token.getClaim(TokenService.CLAIM_NAME).asString());
+        String userType = token.getClaim(TokenService.CLAIM_USER_TYPE).asString();
+        if (userType != null) {
+            user.setUserType(UserType.valueOf(userType));
+        }
+        return user;
+    }
+}
@@ -1,20 +1,28 @@
 package br.edu.utfpr.alunos.webpet.infra.security;
 
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -29,11 +37,26 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Respostas em streaming terminam num dispatch ASYNC da requisição já autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
                         .requestMatchers(HttpMethod.GET, "/user/ongs").permitAll()
                         .requestMatchers(HttpMethod.GET, "/animal/animals").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/animal/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/animal/stats").permitAll()
                         .requestMatchers(HttpMethod.GET, "/animal/{id}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/animal/{animalId}/photos").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/photos/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/photos/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        // Raspado pelo Prometheus sem token; em produção, não publicar /actuator fora da rede interna
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").permitAll()
+                        // Razão e totais agregados de todos os doadores: só ADMIN (cada doador vê o seu em /donation/totals/me)
+                        .requestMatchers("/actuator/donationledger", "/donation/totals/payment-methods", "/donation/totals/days")
+                        .access((authentication, context) ->
+                                new AuthorizationDecision(authentication.get().getPrincipal() instanceof User user
+                                        && user.getUserType() == UserType.ADMIN))
                         // TODO: Em ambiente de produção, restringir adequadamente os endpoints
                         // e adicionar CSRF protection para rotas não-API
                         .anyRequest().authenticated()
@@ -41,9 +64,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Novas senhas saem como {bcrypt}...; as sem prefixo caem no LegacyPasswordEncoder e são regravadas no login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.bcrypt-strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(new LegacyPasswordEncoder(bcrypt));
+        return encoder;
     }
 
     @Bean
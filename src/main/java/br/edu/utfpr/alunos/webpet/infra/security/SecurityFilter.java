@@ -1,7 +1,6 @@
 package br.edu.utfpr.alunos.webpet.infra.security;
 
 import br.edu.utfpr.alunos.webpet.domain.user.User;
-import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +20,7 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     TokenService tokenService;
     @Autowired
-    UserRepository userRepository;
+    PrincipalResolver principalResolver;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,9 +28,9 @@ public class SecurityFilter extends OncePerRequestFilter {
         
         // Verifica token se existir
         if (token != null) {
-            var login = tokenService.validateToken(token);
-            if (login != null) {
-                User user = userRepository.findByEmail(login).orElse(null);
+            var decoded = tokenService.verify(token);
+            if (decoded != null) {
+                User user = principalResolver.resolve(decoded);
                 if (user != null) {
                     var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
                     var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
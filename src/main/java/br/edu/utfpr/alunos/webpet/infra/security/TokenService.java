@@ -2,29 +2,83 @@ package br.edu.utfpr.alunos.webpet.infra.security;
 
 import br.edu.utfpr.alunos.webpet.domain.user.User;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_USER_TYPE = "userType";
+
+    private static final String ISSUER = "webpet";
+    // Tokens sem exp não ficam no cache além deste prazo
+    private static final Duration MAX_CACHED_LIFETIME = Duration.ofHours(1);
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Cache<String, DecodedJWT> verifiedTokens;
+    private final Timer generateTimer;
+    private final Timer verifyCachedTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.verified-cache.maximum-size:10000}") long maximumSize,
+                        MeterRegistry meterRegistry) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String digest, DecodedJWT decoded) -> remainingLifetime(decoded)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        this.generateTimer = tokenTimer(meterRegistry, "generate", "success");
+        this.verifyCachedTimer = tokenTimer(meterRegistry, "verify", "cached");
+        this.verifyValidTimer = tokenTimer(meterRegistry, "verify", "valid");
+        this.verifyInvalidTimer = tokenTimer(meterRegistry, "verify", "invalid");
+    }
 
     public String generateToken(User user) {
+        long start = System.nanoTime();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            String token = JWT.create()
-                    .withIssuer("webpet")
+            JWTCreator.Builder builder = JWT.create()
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(generationExpirationDate())
-                    .sign(algorithm);
+                    .withClaim(CLAIM_ID, user.getId())
+                    .withClaim(CLAIM_NAME, user.getName());
+            if (user.getUserType() != null) {
+                builder.withClaim(CLAIM_USER_TYPE, user.getUserType().name());
+            }
+            String token = builder.sign(algorithm);
+            generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return token;
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Erro ao gerar token");
@@ -32,19 +86,62 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
+        DecodedJWT decoded = verify(token);
+        return decoded != null ? decoded.getSubject() : null;
+    }
+
+    public DecodedJWT verify(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            verifyCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("webpet")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            verifiedTokens.put(digest, decoded);
+            verifyValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return decoded;
         } catch (JWTVerificationException exception) {
+            verifyInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return null;
         }
     }
 
+    // Validade de um token emitido agora: até quando um token anterior a uma alteração ainda pode chegar
+    public Duration tokenLifetime() {
+        return Duration.between(Instant.now(), generationExpirationDate());
+    }
+
     private Instant generationExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private static Timer tokenTimer(MeterRegistry meterRegistry, String operation, String result) {
+        return Timer.builder("security.token")
+                .description("Geração e verificação de JWT")
+                .tag("operation", operation)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Duration remainingLifetime(DecodedJWT decoded) {
+        Instant expiresAt = decoded.getExpiresAtAsInstant();
+        if (expiresAt == null) {
+            return MAX_CACHED_LIFETIME;
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import br.edu.utfpr.alunos.webpet.domain.events.UserChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Listener JPA do User: marca a alteração no PrincipalResolver e publica UserChangedEvent (versão do diretório de
+// ONGs e nova invalidação dos principals depois do commit).
+// O resolver é buscado sob demanda porque depende do próprio EntityManagerFactory
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+    private final ObjectProvider<PrincipalResolver> principalResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreate(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        principalResolver.ifAvailable(resolver -> resolver.evict(user));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+}
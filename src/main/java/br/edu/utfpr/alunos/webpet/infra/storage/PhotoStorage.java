@@ -0,0 +1,334 @@
+package br.edu.utfpr.alunos.webpet.infra.storage;
+
+import br.edu.utfpr.alunos.webpet.utils.enums.PhotoFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Fotos no disco com o SHA-256 do conteúdo como nome: originals/ab/<hash>.<ext> e thumbnails/<lado>/ab/<hash>.jpg.
+// O upload é copiado em blocos para um arquivo temporário enquanto o hash é calculado, e só então renomeado para
+// o nome final; um conteúdo já existente não é gravado de novo. Como o nome muda sempre que o conteúdo muda, os
+// arquivos nunca são alterados depois de gravados. As miniaturas são geradas num pool próprio, fora da requisição.
+@Slf4j
+@Component
+public class PhotoStorage {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final float THUMBNAIL_QUALITY = 0.85f;
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final Path temporary;
+    private final long maxSize;
+    private final long maxPixels;
+    private final List<Integer> thumbnailSizes;
+    private final ExecutorService thumbnailExecutor;
+    // Hashes com miniaturas na fila ou em geração, para não enfileirar o mesmo trabalho duas vezes
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    public PhotoStorage(@Value("${webpet.photos.directory:data/photos}") Path directory,
+                        @Value("${webpet.photos.max-size:10MB}") DataSize maxSize,
+                        @Value("${webpet.photos.max-pixels:40000000}") long maxPixels,
+                        @Value("${webpet.photos.thumbnail-sizes:320,1024}") List<Integer> thumbnailSizes,
+                        @Value("${webpet.photos.thumbnail-threads:2}") int threads,
+                        @Value("${webpet.photos.thumbnail-queue-capacity:256}") int queueCapacity,
+                        MeterRegistry meterRegistry) throws IOException {
+        this.originals = Files.createDirectories(directory.resolve("originals"));
+        this.thumbnails = Files.createDirectories(directory.resolve("thumbnails"));
+        // No mesmo sistema de arquivos dos destinos, para que a troca de nome seja atômica
+        this.temporary = Files.createDirectories(directory.resolve("tmp"));
+        this.maxSize = maxSize.toBytes();
+        this.maxPixels = maxPixels;
+        this.thumbnailSizes = List.copyOf(thumbnailSizes);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "photo-thumbnails-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.thumbnailExecutor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "photo.thumbnails");
+    }
+
+    public List<Integer> getThumbnailSizes() {
+        return thumbnailSizes;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public StoredPhoto store(InputStream content) throws IOException {
+        Path upload = Files.createTempFile(temporary, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] signature = new byte[PhotoFormat.SIGNATURE_LENGTH];
+            int signatureLength = 0;
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "A foto pode ter no máximo " + DataSize.ofBytes(maxSize).toMegabytes() + " MB");
+                    }
+                    if (signatureLength < signature.length) {
+                        int copied = Math.min(read, signature.length - signatureLength);
+                        System.arraycopy(buffer, 0, signature, signatureLength, copied);
+                        signatureLength += copied;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            PhotoFormat format = PhotoFormat.detect(signature, signatureLength)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Envie uma imagem JPEG, PNG ou GIF"));
+            Dimensions dimensions = readDimensions(upload)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Imagem corrompida ou ilegível"));
+            if ((long) dimensions.width() * dimensions.height() > maxPixels) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A foto pode ter no máximo " + maxPixels + " pixels");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = original(hash, format);
+            if (Files.exists(target)) {
+                // Mesmo conteúdo já gravado: renova a data para a coleta de órfãos não apagá-lo agora
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredPhoto(hash, format, size, dimensions.width(), dimensions.height());
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public Path original(String hash, PhotoFormat format) {
+        return originals.resolve(hash.substring(0, 2)).resolve(hash + "." + format.getExtension());
+    }
+
+    public Path thumbnail(String hash, int size) {
+        return thumbnails.resolve(Integer.toString(size)).resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    public Optional<PhotoFormat> findOriginal(String hash) {
+        for (PhotoFormat format : PhotoFormat.values()) {
+            if (Files.exists(original(hash, format))) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Enfileira as miniaturas que faltam; com a fila cheia desiste, e o próximo pedido da miniatura tenta de novo
+    public void requestThumbnails(String hash, PhotoFormat format) {
+        if (thumbnailSizes.stream().allMatch(size -> Files.exists(thumbnail(hash, size))) || !pendingThumbnails.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    generateThumbnails(hash, format);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Falha ao gerar as miniaturas de {}", hash, e);
+                } finally {
+                    pendingThumbnails.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingThumbnails.remove(hash);
+            log.debug("Fila de miniaturas cheia, {} fica para depois", hash);
+        }
+    }
+
+    // Originais gravados (ou reenviados) antes de `cutoff`: candidatos à coleta de órfãos
+    public List<StoredFile> originalsOlderThan(Instant cutoff) throws IOException {
+        List<StoredFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(originals, 2)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                String name = path.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                Optional<PhotoFormat> format = dot > 0 ? PhotoFormat.fromExtension(name.substring(dot + 1)) : Optional.empty();
+                try {
+                    if (format.isPresent() && Files.getLastModifiedTime(path).toInstant().isBefore(cutoff)) {
+                        files.add(new StoredFile(name.substring(0, dot), format.get()));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return files;
+    }
+
+    public void delete(StoredFile file) throws IOException {
+        Files.deleteIfExists(original(file.hash(), file.format()));
+        for (int size : thumbnailSizes) {
+            Files.deleteIfExists(thumbnail(file.hash(), size));
+        }
+    }
+
+    // Decodifica com subamostragem (a imagem inteira nunca vai para o heap na resolução original)
+    // e redimensiona uma vez para cada lado configurado
+    private void generateThumbnails(String hash, PhotoFormat format) throws IOException {
+        int largest = thumbnailSizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+        BufferedImage source;
+        try (ImageInputStream input = ImageIO.createImageInputStream(original(hash, format).toFile())) {
+            ImageReader reader = readerFor(input).orElseThrow(() -> new IOException("Formato sem leitor: " + hash));
+            try {
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Mantém ao menos o dobro do maior lado pedido, para a redução final ainda ter qualidade
+                int subsampling = Math.max(1, longestSide / Math.max(1, largest * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        for (int size : thumbnailSizes) {
+            Path target = thumbnail(hash, size);
+            if (Files.exists(target)) {
+                continue;
+            }
+            double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = resized.createGraphics();
+            try {
+                // JPEG não tem transparência: fundo branco para PNG/GIF com alfa
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            writeJpeg(resized, target);
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path partial = Files.createTempFile(temporary, "thumbnail-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(partial.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(THUMBNAIL_QUALITY);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    // Só o cabeçalho é lido: largura e altura sem decodificar os pixels
+    private static Optional<Dimensions> readDimensions(Path file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Optional<ImageReader> reader = readerFor(input);
+            if (reader.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new Dimensions(reader.get().getWidth(0), reader.get().getHeight(0)));
+            } finally {
+                reader.get().dispose();
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ImageReader> readerFor(ImageInputStream input) {
+        if (input == null) {
+            return Optional.empty();
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return Optional.empty();
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return Optional.of(reader);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    public record StoredPhoto(String hash, PhotoFormat format, long size, int width, int height) {
+    }
+
+    public record StoredFile(String hash, PhotoFormat format) {
+    }
+
+    private record Dimensions(int width, int height) {
+    }
+}
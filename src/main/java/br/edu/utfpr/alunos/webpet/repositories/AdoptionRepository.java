@@ -1,7 +1,27 @@
 package br.edu.utfpr.alunos.webpet.repositories;
 
 import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface AdoptionRepository extends JpaRepository<Adoption, String> {
-}
\ No newline at end of file
+    long countByAnimalId(String animalId);
+
+    // Histórico: adoção, animal, ONG e adotante numa única consulta (todas as associações são to-one,
+    // então a paginação continua no banco); a contagem não precisa dos joins de leitura
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT ad FROM Adoption ad JOIN FETCH ad.animal an JOIN FETCH an.ong JOIN FETCH ad.adopter WHERE ad.adopter.id = :adopterId",
+           countQuery = "SELECT COUNT(ad) FROM Adoption ad WHERE ad.adopter.id = :adopterId")
+    Page<Adoption> findHistoryByAdopterId(@Param("adopterId") String adopterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT ad FROM Adoption ad JOIN FETCH ad.animal an JOIN FETCH an.ong ong JOIN FETCH ad.adopter WHERE ong.id = :ongId",
+           countQuery = "SELECT COUNT(ad) FROM Adoption ad WHERE ad.animal.ong.id = :ongId")
+    Page<Adoption> findHistoryByOngId(@Param("ongId") String ongId, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package br.edu.utfpr.alunos.webpet.repositories;
+
+import br.edu.utfpr.alunos.webpet.domain.user.AnimalPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface AnimalPhotoRepository extends JpaRepository<AnimalPhoto, String> {
+    List<AnimalPhoto> findByAnimalIdOrderByCreatedAt(String animalId);
+
+    Optional<AnimalPhoto> findByAnimalIdAndHash(String animalId, String hash);
+
+    Optional<AnimalPhoto> findByIdAndAnimalId(String id, String animalId);
+
+    // Dos hashes informados, os que ainda têm alguma foto apontando para eles
+    @Query("SELECT DISTINCT p.hash FROM AnimalPhoto p WHERE p.hash IN :hashes")
+    Set<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+}
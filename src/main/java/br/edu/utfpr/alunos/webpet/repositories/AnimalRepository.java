@@ -2,17 +2,28 @@ package br.edu.utfpr.alunos.webpet.repositories;
 
 import br.edu.utfpr.alunos.webpet.domain.user.Animal;
 import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalFacetCount;
 import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
 import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AnimalRepository extends JpaRepository<Animal, String> {
     @NonNull()
@@ -21,19 +32,92 @@ public interface AnimalRepository extends JpaRepository<Animal, String> {
     @NonNull()
     Optional<Animal> findById(@NonNull() String id);
 
-    List<Animal> findByName(String name);
+    // Leituras projetadas direto em AnimalDTO: nenhuma entidade gerenciada, nenhum snapshot para dirty checking
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.name = :name")
+    List<AnimalDTO> findByName(@Param("name") String name);
 
-    List<Animal> findByCategory(CategoryType category);
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.category = :category")
+    List<AnimalDTO> findByCategory(@Param("category") CategoryType category);
 
-    List<Animal> findByStatus(StatusType status);
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.status = :status")
+    List<AnimalDTO> findByStatus(@Param("status") StatusType status);
 
     List<Animal> findByOng(User ong);
 
-    @Query("SELECT a FROM Animal a WHERE (:ong IS NULL OR a.ong = :ong) AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status)")
-    Page<Animal> findByOngAndCategoryAndStatus(
+    // Consultas em streaming (NDJSON): cursor JDBC com fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.name = :name")
+    Stream<AnimalDTO> streamByName(@Param("name") String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.category = :category")
+    Stream<AnimalDTO> streamByCategory(@Param("category") CategoryType category);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.status = :status")
+    Stream<AnimalDTO> streamByStatus(@Param("status") StatusType status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE (:ong IS NULL OR a.ong = :ong) AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status)",
+           countQuery = "SELECT COUNT(a) FROM Animal a WHERE (:ong IS NULL OR a.ong = :ong) AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status)")
+    Page<AnimalDTO> findByOngAndCategoryAndStatus(
         @Param("ong") User ong,
         @Param("category") CategoryType category,
         @Param("status") StatusType status,
         Pageable pageable
     );
+
+    // Paginação por cursor: ordena pela chave primária e continua a partir do último id entregue.
+    // Fora do query cache: cada cursor seria uma entrada nova, e a rolagem profunda expulsaria as consultas quentes
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE (:ong IS NULL OR a.ong = :ong) AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status) AND (:after IS NULL OR a.id > :after) ORDER BY a.id")
+    Slice<AnimalDTO> findByOngAndCategoryAndStatusAfter(
+        @Param("ong") User ong,
+        @Param("category") CategoryType category,
+        @Param("status") StatusType status,
+        @Param("after") String after,
+        Pageable pageable
+    );
+
+    // Transição atômica de status: só uma requisição concorrente consegue alterar a linha
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Animal a SET a.status = :to, a.version = a.version + 1, a.updatedAt = instant WHERE a.id = :id AND a.status = :from")
+    int updateStatusIf(@Param("id") String id, @Param("from") StatusType from, @Param("to") StatusType to);
+
+    // Seleção das operações em massa, travada (FOR UPDATE) para que os eventos publicados correspondam exatamente
+    // às linhas que o UPDATE/DELETE seguinte altera. excludeAdopted deixa de fora os animais com adoção registrada.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.ong.id = :ongId AND a.id IN :ids AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status) AND (:excludeAdopted = false OR NOT EXISTS (SELECT 1 FROM Adoption ad WHERE ad.animal.id = a.id))")
+    List<AnimalDTO> lockForBulkByIds(
+        @Param("ongId") String ongId,
+        @Param("ids") Collection<String> ids,
+        @Param("category") CategoryType category,
+        @Param("status") StatusType status,
+        @Param("excludeAdopted") boolean excludeAdopted
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalDTO(a.id, a.name, a.description, a.category, a.status) FROM Animal a WHERE a.ong.id = :ongId AND (:category IS NULL OR a.category = :category) AND (:status IS NULL OR a.status = :status) AND (:excludeAdopted = false OR NOT EXISTS (SELECT 1 FROM Adoption ad WHERE ad.animal.id = a.id))")
+    List<AnimalDTO> lockForBulkByFilter(
+        @Param("ongId") String ongId,
+        @Param("category") CategoryType category,
+        @Param("status") StatusType status,
+        @Param("excludeAdopted") boolean excludeAdopted
+    );
+
+    // Um único UPDATE/DELETE para o conjunto todo, com os ids num array (um parâmetro e busca pela chave primária,
+    // qualquer que seja o tamanho). Declarar a tabela como query space faz o Hibernate invalidar só o cache de
+    // Animal e as consultas em cache sobre animals. category ou status nulo mantém o valor atual da coluna.
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "animals"))
+    @Query(value = "UPDATE animals SET category = COALESCE(CAST(:category AS varchar), category), status = COALESCE(CAST(:status AS varchar), status), version = version + 1, updated_at = now() WHERE id = ANY(CAST(:ids AS varchar[]))",
+           nativeQuery = true)
+    int updateCategoryAndStatus(@Param("ids") String[] ids, @Param("category") String category, @Param("status") String status);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "animals"))
+    @Query(value = "DELETE FROM animals WHERE id = ANY(CAST(:ids AS varchar[]))", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") String[] ids);
+
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.AnimalFacetCount(a.ong.id, a.category, a.status, COUNT(a)) FROM Animal a GROUP BY a.ong.id, a.category, a.status")
+    List<AnimalFacetCount> countByOngAndCategoryAndStatus();
 }
@@ -3,5 +3,8 @@ package br.edu.utfpr.alunos.webpet.repositories;
 import br.edu.utfpr.alunos.webpet.domain.user.Donation;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface DonationRepository extends JpaRepository<Donation, String> {
+    Optional<Donation> findByDonorIdAndIdempotencyKey(String donorId, String idempotencyKey);
 }
\ No newline at end of file
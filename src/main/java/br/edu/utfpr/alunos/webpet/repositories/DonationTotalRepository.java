@@ -0,0 +1,19 @@
+package br.edu.utfpr.alunos.webpet.repositories;
+
+import br.edu.utfpr.alunos.webpet.domain.user.DonationTotal;
+import br.edu.utfpr.alunos.webpet.utils.enums.DonationTotalScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DonationTotalRepository extends JpaRepository<DonationTotal, DonationTotal.Key> {
+    @Query("SELECT t FROM DonationTotal t WHERE t.id.scope = :scope ORDER BY t.id.scopeKey")
+    List<DonationTotal> findByScope(@Param("scope") DonationTotalScope scope);
+
+    @Query("SELECT t FROM DonationTotal t WHERE t.id.scope = :scope AND t.id.scopeKey BETWEEN :from AND :to ORDER BY t.id.scopeKey")
+    List<DonationTotal> findByScopeAndKeyBetween(@Param("scope") DonationTotalScope scope,
+                                                 @Param("from") String from,
+                                                 @Param("to") String to);
+}
@@ -1,14 +1,19 @@
 package br.edu.utfpr.alunos.webpet.repositories;
 
 import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.OngDirectoryEntryDTO;
 import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
-    List<User> findAllByUserType(UserType userType);
+    // Diretório público de ONGs: só as colunas exibidas (sem senha), em ordem estável para o hash do snapshot
+    @Query("SELECT new br.edu.utfpr.alunos.webpet.dto.OngDirectoryEntryDTO(u.id, u.name, u.email, u.phone, u.cnpj, u.description) FROM User u WHERE u.userType = :userType ORDER BY u.name, u.id")
+    List<OngDirectoryEntryDTO> findDirectoryByUserType(@Param("userType") UserType userType);
     
 }
@@ -0,0 +1,62 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AdoptionHistoryPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AdoptionRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class AdoptionService {
+    private static final int MAX_PAGE_SIZE = 100;
+    // O id desempata adoções no mesmo instante: sem ele, páginas por OFFSET podem repetir ou pular linhas
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "adoptionDate", "id");
+
+    private final AdoptionRepository adoptionRepository;
+
+    public AdoptionService(AdoptionRepository adoptionRepository) {
+        this.adoptionRepository = adoptionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<AdoptionHistoryPageDTO>> getMyAdoptions(int page, int size) {
+        User user = currentUser();
+        Page<Adoption> adoptions = adoptionRepository.findHistoryByAdopterId(user.getId(), pageRequest(page, size));
+
+        return ResponseEntity.ok(ResponseDTO.success("Adoções obtidas com sucesso", AdoptionHistoryPageDTO.from(adoptions)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<AdoptionHistoryPageDTO>> getOngAdoptions(int page, int size) {
+        User user = currentUser();
+        if (user.getUserType() != UserType.JURIDICO && user.getUserType() != UserType.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas ONGs podem consultar as adoções dos seus animais");
+        }
+        Page<Adoption> adoptions = adoptionRepository.findHistoryByOngId(user.getId(), pageRequest(page, size));
+
+        return ResponseEntity.ok(ResponseDTO.success("Adoções dos animais da ONG obtidas com sucesso", AdoptionHistoryPageDTO.from(adoptions)));
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Página ou tamanho inválido");
+        }
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), NEWEST_FIRST);
+    }
+
+    private static User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+}
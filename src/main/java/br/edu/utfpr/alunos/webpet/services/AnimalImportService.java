@@ -0,0 +1,327 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent.AnimalSnapshot;
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalImportReportDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalImportReportDTO.RowError;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// Importação em massa de animais para a ONG autenticada, lendo CSV ou NDJSON linha a linha do corpo da
+// requisição (o arquivo nunca fica inteiro na memória). Linhas válidas são gravadas em lotes, cada lote um
+// único INSERT com arrays na sua própria transação; linhas inválidas entram no relatório e não param a importação.
+@Slf4j
+@Service
+public class AnimalImportService {
+    // Query nativa pelo Hibernate (e não JdbcTemplate) para que o INSERT invalide o cache de consultas da tabela animals
+    private static final String INSERT_SQL = """
+            INSERT INTO animals (id, name, description, category, status, ong_id, version)
+            SELECT id, name, description, category, status, :ongId, 0
+            FROM unnest(CAST(:ids AS varchar[]), CAST(:names AS varchar[]), CAST(:descriptions AS varchar[]),
+                        CAST(:categories AS varchar[]), CAST(:statuses AS varchar[])) AS rows(id, name, description, category, status)""";
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder().enable(CsvParser.Feature.WRAP_AS_ARRAY).build();
+    private final int batchSize;
+    private final int maxRows;
+
+    public AnimalImportService(EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               @Value("${webpet.animal-import.batch-size:500}") int batchSize,
+                               @Value("${webpet.animal-import.max-rows:10000}") int maxRows) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    public ResponseEntity<ResponseDTO<AnimalImportReportDTO>> importAnimals(MediaType contentType, InputStream body) throws IOException {
+        User ong = currentOng();
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        ImportRun run = new ImportRun(ong.getId());
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            if (TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(reader, run);
+            } else if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                readNdjson((BufferedReader) reader, run);
+            } else {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Envie text/csv ou application/x-ndjson");
+            }
+        } finally {
+            run.flush();
+        }
+
+        AnimalImportReportDTO report = run.report();
+        String message = report.rejected() == 0
+                ? "Importação concluída: " + report.imported() + " animais cadastrados"
+                : "Importação concluída com " + report.rejected() + " linhas rejeitadas";
+        return ResponseEntity.ok(ResponseDTO.success(message, report));
+    }
+
+    // Cabeçalho obrigatório com name e category; description e status são opcionais e a ordem das colunas é livre
+    private void readCsv(Reader reader, ImportRun run) throws IOException {
+        try (MappingIterator<String[]> rows = csvMapper.readerFor(String[].class).readValues(reader)) {
+            if (!rows.hasNextValue()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo CSV vazio");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            String[] header = rows.nextValue();
+            for (int i = 0; i < header.length; i++) {
+                // Planilhas exportadas em UTF-8 costumam começar com BOM
+                columns.put(header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("category")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "O cabeçalho do CSV precisa das colunas name e category (description e status são opcionais)");
+            }
+
+            while (run.hasCapacity()) {
+                String[] row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // Aspas sem fechamento e afins: não há como saber onde a próxima linha começa
+                    run.reject(e.getLocation() != null ? e.getLocation().getLineNr() : 0,
+                            "CSV malformado, importação interrompida nesta linha");
+                    return;
+                }
+                long line = rows.getCurrentLocation().getLineNr() - 1;
+                if (row.length != header.length) {
+                    run.reject(line, "Esperadas " + header.length + " colunas, encontradas " + row.length);
+                    continue;
+                }
+                run.accept(line, column(row, columns, "name"), column(row, columns, "description"),
+                        column(row, columns, "category"), column(row, columns, "status"));
+            }
+        }
+    }
+
+    // Um objeto JSON por linha; uma linha malformada é rejeitada sem afetar as seguintes
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String text;
+        long line = 0;
+        while (run.hasCapacity() && (text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                run.reject(line, "JSON inválido");
+                continue;
+            }
+            if (!node.isObject()) {
+                run.reject(line, "Esperado um objeto JSON por linha");
+                continue;
+            }
+            run.accept(line, text(node, "name"), text(node, "description"), text(node, "category"), text(node, "status"));
+        }
+    }
+
+    private void insert(String ongId, List<PendingAnimal> batch) {
+        int size = batch.size();
+        String[] ids = new String[size];
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        String[] categories = new String[size];
+        String[] statuses = new String[size];
+        for (int i = 0; i < size; i++) {
+            AnimalSnapshot animal = batch.get(i).animal();
+            ids[i] = animal.id();
+            names[i] = animal.name();
+            descriptions[i] = animal.description();
+            categories[i] = animal.category().name();
+            statuses[i] = animal.status().name();
+        }
+        entityManager.createNativeQuery(INSERT_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Animal.class)
+                .setParameter("ongId", ongId)
+                .setParameter("ids", ids)
+                .setParameter("names", names)
+                .setParameter("descriptions", descriptions)
+                .setParameter("categories", categories)
+                .setParameter("statuses", statuses)
+                .executeUpdate();
+    }
+
+    private static String column(String[] row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null ? row[index] : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static User currentOng() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        if (user.getUserType() != UserType.JURIDICO && user.getUserType() != UserType.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas ONGs podem importar animais");
+        }
+        return user;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record PendingAnimal(long line, AnimalSnapshot animal) {
+    }
+
+    // Estado de uma importação: lote pendente, contadores e relatório de erros
+    private final class ImportRun {
+        private final String ongId;
+        private final List<PendingAnimal> batch = new ArrayList<>(batchSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int rejected;
+        private boolean truncated;
+
+        ImportRun(String ongId) {
+            this.ongId = ongId;
+        }
+
+        boolean hasCapacity() {
+            if (received < maxRows) {
+                return true;
+            }
+            if (!truncated) {
+                truncated = true;
+                addError(0, "Limite de " + maxRows + " linhas por importação atingido; o restante do arquivo foi ignorado");
+            }
+            return false;
+        }
+
+        void accept(long line, String name, String description, String category, String status) {
+            received++;
+            if (name == null || name.isBlank()) {
+                fail(line, "name é obrigatório");
+                return;
+            }
+            if (name.length() > MAX_TEXT_LENGTH || (description != null && description.length() > MAX_TEXT_LENGTH)) {
+                fail(line, "name e description aceitam no máximo " + MAX_TEXT_LENGTH + " caracteres");
+                return;
+            }
+            CategoryType categoryType = category == null || category.isBlank() ? null : parseEnum(CategoryType.class, category);
+            if (categoryType == null) {
+                fail(line, "category inválida: use um de " + Arrays.toString(CategoryType.values()));
+                return;
+            }
+            // Sem status o animal entra disponível para adoção
+            StatusType statusType = status == null || status.isBlank() ? StatusType.AVAILABLE : parseEnum(StatusType.class, status);
+            if (statusType == null) {
+                fail(line, "status inválido: use um de " + Arrays.toString(StatusType.values()));
+                return;
+            }
+
+            batch.add(new PendingAnimal(line, new AnimalSnapshot(UUID.randomUUID().toString(), ongId, name.trim(),
+                    description == null || description.isBlank() ? null : description.trim(), categoryType, statusType)));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // Linha que não chegou a ser interpretada (JSON inválido, número de colunas errado)
+        void reject(long line, String message) {
+            received++;
+            fail(line, message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                // Os eventos saem depois do commit do lote: contadores, índice de busca e ETags veem só o que foi gravado
+                transactionTemplate.executeWithoutResult(status -> {
+                    insert(ongId, batch);
+                    batch.forEach(pending -> eventPublisher.publishEvent(new AnimalChangedEvent(null, pending.animal())));
+                });
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar lote de {} animais importados pela ONG {}", batch.size(), ongId, e);
+                batch.forEach(pending -> fail(pending.line(), "Falha ao gravar a linha, tente importá-la novamente"));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        private void fail(long line, String message) {
+            rejected++;
+            addError(line, message);
+        }
+
+        private void addError(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        AnimalImportReportDTO report() {
+            return new AnimalImportReportDTO(received, imported, rejected, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.AnimalPhoto;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPhotoDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.infra.http.FileResponses;
+import br.edu.utfpr.alunos.webpet.infra.storage.PhotoStorage;
+import br.edu.utfpr.alunos.webpet.infra.storage.PhotoStorage.StoredFile;
+import br.edu.utfpr.alunos.webpet.infra.storage.PhotoStorage.StoredPhoto;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalPhotoRepository;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.PhotoFormat;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+// Upload, listagem, remoção e entrega das fotos dos animais. O upload não segura conexão com o banco
+// enquanto o corpo chega: a permissão é conferida antes, o arquivo é gravado e só então a linha é inserida.
+@Slf4j
+@Service
+public class AnimalPhotoService {
+    private static final int SWEEP_BATCH_SIZE = 500;
+    // URL muda junto com o conteúdo: navegador e CDN podem guardar por um ano sem revalidar
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final AnimalPhotoRepository photoRepository;
+    private final AnimalRepository animalRepository;
+    private final PhotoStorage storage;
+    private final Duration orphanGrace;
+
+    public AnimalPhotoService(AnimalPhotoRepository photoRepository,
+                              AnimalRepository animalRepository,
+                              PhotoStorage storage,
+                              @Value("${webpet.photos.orphan-grace:1h}") Duration orphanGrace) {
+        this.photoRepository = photoRepository;
+        this.animalRepository = animalRepository;
+        this.storage = storage;
+        this.orphanGrace = orphanGrace;
+    }
+
+    public ResponseEntity<ResponseDTO<AnimalPhotoDTO>> upload(String animalId, long contentLength, InputStream body) throws IOException {
+        Animal animal = ownedAnimal(animalId);
+        if (contentLength > storage.getMaxSize()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "A foto excede o tamanho máximo permitido");
+        }
+        StoredPhoto stored = storage.store(body);
+        storage.requestThumbnails(stored.hash(), stored.format());
+
+        AnimalPhoto photo = photoRepository.findByAnimalIdAndHash(animalId, stored.hash()).orElse(null);
+        if (photo == null) {
+            photo = new AnimalPhoto();
+            photo.setAnimal(animal);
+            photo.setHash(stored.hash());
+            photo.setFormat(stored.format());
+            photo.setSize(stored.size());
+            photo.setWidth(stored.width());
+            photo.setHeight(stored.height());
+            try {
+                photo = photoRepository.save(photo);
+            } catch (DataIntegrityViolationException e) {
+                // Mesma foto enviada em paralelo para o mesmo animal: fica a linha que chegou primeiro
+                photo = photoRepository.findByAnimalIdAndHash(animalId, stored.hash()).orElseThrow(() -> e);
+            }
+        }
+        return ResponseEntity.ok(ResponseDTO.success("Foto salva com sucesso", AnimalPhotoDTO.from(photo, storage.getThumbnailSizes())));
+    }
+
+    public ResponseEntity<ResponseDTO<List<AnimalPhotoDTO>>> list(String animalId) {
+        if (!animalRepository.existsById(animalId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Animal não encontrado");
+        }
+        List<AnimalPhotoDTO> photos = photoRepository.findByAnimalIdOrderByCreatedAt(animalId).stream()
+                .map(photo -> AnimalPhotoDTO.from(photo, storage.getThumbnailSizes()))
+                .toList();
+        return ResponseEntity.ok(ResponseDTO.success("Fotos obtidas com sucesso", photos));
+    }
+
+    // O arquivo fica no disco até a coleta de órfãos: outra foto pode usar o mesmo conteúdo
+    public void delete(String animalId, String photoId) {
+        ownedAnimal(animalId);
+        AnimalPhoto photo = photoRepository.findByIdAndAnimalId(photoId, animalId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Foto não encontrada"));
+        photoRepository.delete(photo);
+    }
+
+    public void sendOriginal(String hash, String extension, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PhotoFormat format = PhotoFormat.fromExtension(extension)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Foto não encontrada"));
+        Path file = storage.original(hash, format);
+        if (!Files.exists(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Foto não encontrada");
+        }
+        FileResponses.send(file, MediaType.parseMediaType(format.getContentType()), hash, IMMUTABLE, request, response);
+    }
+
+    // Enquanto a miniatura não fica pronta, responde o original sem cache longo e pede a geração de novo
+    public void sendThumbnail(String hash, int size, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!storage.getThumbnailSizes().contains(size)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tamanho de miniatura não disponível");
+        }
+        Path thumbnail = storage.thumbnail(hash, size);
+        if (Files.exists(thumbnail)) {
+            FileResponses.send(thumbnail, MediaType.IMAGE_JPEG, hash + "-" + size, IMMUTABLE, request, response);
+            return;
+        }
+        PhotoFormat format = storage.findOriginal(hash)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Foto não encontrada"));
+        storage.requestThumbnails(hash, format);
+        FileResponses.send(storage.original(hash, format), MediaType.parseMediaType(format.getContentType()),
+                hash + "-pending", CacheControl.noCache(), request, response);
+    }
+
+    // Apaga arquivos sem nenhuma foto apontando para eles. O prazo de carência cobre o upload que já gravou
+    // o arquivo (ou renovou a data de um existente) e ainda não inseriu a linha.
+    @Scheduled(initialDelayString = "${webpet.photos.orphan-sweep-interval:1h}",
+            fixedDelayString = "${webpet.photos.orphan-sweep-interval:1h}")
+    public void sweepOrphans() throws IOException {
+        List<StoredFile> candidates = storage.originalsOlderThan(Instant.now().minus(orphanGrace));
+        int deleted = 0;
+        for (int from = 0; from < candidates.size(); from += SWEEP_BATCH_SIZE) {
+            List<StoredFile> batch = candidates.subList(from, Math.min(from + SWEEP_BATCH_SIZE, candidates.size()));
+            Set<String> referenced = photoRepository.findReferencedHashes(batch.stream().map(StoredFile::hash).toList());
+            for (StoredFile file : batch) {
+                if (!referenced.contains(file.hash())) {
+                    storage.delete(file);
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("Coleta de fotos órfãs: {} arquivos removidos", deleted);
+        }
+    }
+
+    private Animal ownedAnimal(String animalId) {
+        Animal animal = animalRepository.findById(animalId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Animal não encontrado"));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        if (user.getUserType() != UserType.ADMIN && !animal.getOng().getId().equals(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas a ONG responsável pode alterar as fotos do animal");
+        }
+        return animal;
+    }
+}
@@ -0,0 +1,255 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent.AnimalSnapshot;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Índice invertido em memória sobre nome e descrição dos animais, mantido pelos AnimalChangedEvent
+@Service
+public class AnimalSearchService implements SmartInitializingSingleton {
+    private static final double NAME_BOOST = 3.0;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "um", "uma", "uns", "umas", "com", "para", "por", "que", "se", "ao", "aos", "mais", "muito");
+
+    private final AnimalRepository animalRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Map<String, IndexedAnimal> documents = new HashMap<>();
+    private NavigableMap<String, Map<String, Posting>> postings = new TreeMap<>();
+    // Eventos recebidos enquanto a reconstrução lê o banco; null fora de uma reconstrução
+    private List<AnimalChangedEvent> pendingEvents;
+
+    public AnimalSearchService(AnimalRepository animalRepository) {
+        this.animalRepository = animalRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // A leitura do banco roda fora do lock; os eventos que chegam nesse meio tempo são reaplicados
+    // no índice novo antes da troca, para não sumirem com o índice antigo
+    public void rebuild() {
+        rebuildLock.lock();
+        lock.writeLock().lock();
+        pendingEvents = new ArrayList<>();
+        lock.writeLock().unlock();
+        try {
+            Map<String, IndexedAnimal> newDocuments = new HashMap<>();
+            NavigableMap<String, Map<String, Posting>> newPostings = new TreeMap<>();
+            animalRepository.findAll().forEach(animal -> add(AnimalSnapshot.of(animal), newDocuments, newPostings));
+
+            lock.writeLock().lock();
+            try {
+                pendingEvents.forEach(event -> apply(event, newDocuments, newPostings));
+                documents = newDocuments;
+                postings = newPostings;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            pendingEvents = null;
+            lock.writeLock().unlock();
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event, documents, postings);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ResponseEntity<ResponseDTO<AnimalPageDTO>> search(String query, CategoryType category, StatusType status, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Página ou tamanho inválido");
+        }
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        List<AnimalDTO> animals;
+        int totalElements;
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = score(terms);
+            List<IndexedAnimal> matches = new ArrayList<>();
+            scores.keySet().forEach(id -> {
+                IndexedAnimal doc = documents.get(id);
+                if ((category == null || doc.animal().category() == category)
+                        && (status == null || doc.animal().status() == status)) {
+                    matches.add(doc);
+                }
+            });
+            matches.sort(Comparator.<IndexedAnimal>comparingDouble(doc -> scores.get(doc.animal().id())).reversed()
+                    .thenComparing(doc -> doc.animal().name(), Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(doc -> doc.animal().id()));
+            totalElements = matches.size();
+            animals = matches.stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(doc -> new AnimalDTO(
+                            doc.animal().id(),
+                            doc.animal().name(),
+                            doc.animal().description(),
+                            doc.animal().category(),
+                            doc.animal().status()
+                    ))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        AnimalPageDTO data = new AnimalPageDTO(animals, totalElements, (totalElements + size - 1) / size, page, size);
+
+        return ResponseEntity.ok(ResponseDTO.success("Busca de animais realizada com sucesso", data));
+    }
+
+    // Todo termo da consulta precisa casar (exato ou como prefixo); a pontuação soma TF-IDF por termo
+    private Map<String, Double> score(List<String> terms) {
+        Map<String, Double> scores = null;
+        for (String term : terms) {
+            Map<String, Double> termScores = new HashMap<>();
+            int expansions = 0;
+            for (Map.Entry<String, Map<String, Posting>> entry
+                    : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                double weight = entry.getKey().equals(term) ? 1.0 : PREFIX_WEIGHT;
+                double idf = Math.log(1.0 + (double) documents.size() / entry.getValue().size());
+                entry.getValue().forEach((id, posting) ->
+                        termScores.merge(id, weight * idf * posting.weight(), Math::max));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : Map.of();
+    }
+
+    private void add(AnimalSnapshot animal,
+                     Map<String, IndexedAnimal> documents,
+                     NavigableMap<String, Map<String, Posting>> postings) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        tokenize(animal.name()).forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[0]++);
+        tokenize(animal.description()).forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[1]++);
+
+        frequencies.forEach((term, frequency) -> postings
+                .computeIfAbsent(term, t -> new HashMap<>())
+                .put(animal.id(), new Posting(NAME_BOOST * frequency[0] + frequency[1])));
+        documents.put(animal.id(), new IndexedAnimal(animal, frequencies.keySet()));
+    }
+
+    // Remoção seguida de inserção: reaplicar o mesmo evento deixa o índice no mesmo estado
+    private void apply(AnimalChangedEvent event,
+                       Map<String, IndexedAnimal> documents,
+                       NavigableMap<String, Map<String, Posting>> postings) {
+        remove(event.animalId(), documents, postings);
+        if (event.after() != null) {
+            add(event.after(), documents, postings);
+        }
+    }
+
+    private void remove(String id,
+                        Map<String, IndexedAnimal> documents,
+                        NavigableMap<String, Map<String, Posting>> postings) {
+        IndexedAnimal previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<String, Posting> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATOR.split(folded)) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                terms.add(singular(token));
+            }
+        }
+        return terms;
+    }
+
+    // Normalização leve de plural do português: cães/leões -> cao/leao, animais -> animal, gatos -> gato
+    private static String singular(String term) {
+        if (term.length() <= 3) {
+            return term;
+        }
+        if (term.endsWith("oes") || term.endsWith("aes")) {
+            return term.substring(0, term.length() - 3) + "ao";
+        }
+        if (term.endsWith("ais")) {
+            return term.substring(0, term.length() - 3) + "al";
+        }
+        if (term.endsWith("s")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+
+    private record IndexedAnimal(AnimalSnapshot animal, Set<String> terms) {
+    }
+
+    private record Posting(double weight) {
+    }
+}
@@ -1,129 +1,156 @@
 package br.edu.utfpr.alunos.webpet.services;
 
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent.AnimalSnapshot;
 import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
 import br.edu.utfpr.alunos.webpet.domain.user.Animal;
 import br.edu.utfpr.alunos.webpet.domain.user.User;
 import br.edu.utfpr.alunos.webpet.dto.AdoptionResponseDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalBulkResultDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalBulkUpdateDTO;
 import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalSelectionDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalSliceDTO;
 import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
 import br.edu.utfpr.alunos.webpet.dto.UserDTO;
+import br.edu.utfpr.alunos.webpet.infra.cache.Revision;
 import br.edu.utfpr.alunos.webpet.repositories.AdoptionRepository;
 import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
 import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
 import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AnimalService {
+    private static final int MAX_BULK_IDS = 1000;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AdoptionRepository adoptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
     AnimalRepository animalRepository;
 
 
-    public AnimalService(AnimalRepository animalRepository, AdoptionRepository adoptionRepository) {
+    public AnimalService(AnimalRepository animalRepository, AdoptionRepository adoptionRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.animalRepository = animalRepository;
         this.adoptionRepository = adoptionRepository;
-
+        this.eventPublisher = eventPublisher;
     }
     
-    public ResponseEntity<ResponseDTO> getAll(CategoryType category, StatusType status, Pageable pageable) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<AnimalPageDTO>> getAll(CategoryType category, StatusType status, Pageable pageable) {
+        User user = currentUserOrNull();
+        Page<AnimalDTO> animalsPage = animalRepository.findByOngAndCategoryAndStatus(user, category, status, pageable);
 
-        User user = null;
-        if (authentication != null && authentication.isAuthenticated() && !(authentication.getPrincipal() instanceof String)) {
-            user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(ResponseDTO.success("Lista de animais obtida com sucesso", AnimalPageDTO.from(animalsPage)));
+    }
+
+    // Modo cursor: sem OFFSET nem COUNT, o custo de cada página independe da profundidade
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<AnimalSliceDTO>> getAllAfter(CategoryType category, StatusType status, String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tamanho inválido");
         }
-        Page<Animal> animalsPage = animalRepository.findByOngAndCategoryAndStatus(user, category, status, pageable);
-        List<AnimalDTO> animalDTOs = animalsPage.getContent().stream()
-                .map(animal -> new AnimalDTO(
-                        animal.getId(),
-                        animal.getName(),
-                        animal.getDescription(),
-                        animal.getCategory(),
-                        animal.getStatus()
-                ))
-                .toList();
-        HashMap<String, Object> data = new HashMap<>();
-        data.put("animals", animalDTOs);
-        data.put("totalElements", animalsPage.getTotalElements());
-        data.put("totalPages", animalsPage.getTotalPages());
-        data.put("page", animalsPage.getNumber());
-        data.put("size", animalsPage.getSize());
+        User user = currentUserOrNull();
+        String after = cursor.isBlank() ? null : decodeCursor(cursor);
+        Slice<AnimalDTO> animalsSlice = animalRepository.findByOngAndCategoryAndStatusAfter(
+                user, category, status, after, PageRequest.ofSize(Math.min(size, MAX_PAGE_SIZE)));
+        List<AnimalDTO> animalDTOs = animalsSlice.getContent();
+        String nextCursor = animalsSlice.hasNext() && !animalDTOs.isEmpty()
+                ? encodeCursor(animalDTOs.get(animalDTOs.size() - 1).id())
+                : null;
+        AnimalSliceDTO data = new AnimalSliceDTO(animalDTOs, nextCursor, nextCursor != null, animalsSlice.getSize());
 
         return ResponseEntity.ok(ResponseDTO.success("Lista de animais obtida com sucesso", data));
     }
 
+    // Mantém a leitura por entidade: findById é atendido pelo cache de segundo nível sem ir ao banco
+    @Transactional(readOnly = true)
     public AnimalDTO getById(String id) {
         Animal animal = animalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Animal não encontrado"));
 
-        return new AnimalDTO(
-                animal.getId(),
-                animal.getName(),
-                animal.getDescription(),
-                animal.getCategory(),
-                animal.getStatus()
-        );
+        return AnimalDTO.from(animal);
     }
 
+    // ETag (version) e Last-Modified (updatedAt) do animal; com o cache de segundo nível o 304 não consulta o banco
+    @Transactional(readOnly = true)
+    public Revision getRevision(String id) {
+        Animal animal = animalRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Animal não encontrado"));
+
+        return new Revision(animal.getVersion().toString(), animal.getUpdatedAt().toEpochMilli());
+    }
+
+    @Transactional(readOnly = true)
     public List<AnimalDTO> getByName(String name) {
-        List<Animal> animals = animalRepository.findByName(name);
+        List<AnimalDTO> animals = animalRepository.findByName(name);
         if (animals.isEmpty()) {
             throw new RuntimeException("Nenhum animal encontrado com o nome: " + name);
         }
-        return animals.stream()
-                .map(animal -> new AnimalDTO(
-                        animal.getId(),
-                        animal.getName(),
-                        animal.getDescription(),
-                        animal.getCategory(),
-                        animal.getStatus()
-                ))
-                .toList();
+        return animals;
     }
 
+    @Transactional(readOnly = true)
     public List<AnimalDTO> getByCategory(CategoryType category) {
-        List<Animal> animals = animalRepository.findByCategory(category);
+        List<AnimalDTO> animals = animalRepository.findByCategory(category);
         if (animals.isEmpty()) {
             throw new RuntimeException("Nenhum animal encontrado na categoria: " + category);
         }
-        return animals.stream()
-                .map(animal -> new AnimalDTO(
-                        animal.getId(),
-                        animal.getName(),
-                        animal.getDescription(),
-                        animal.getCategory(),
-                        animal.getStatus()
-                ))
-                .toList();
+        return animals;
     }
 
+    @Transactional(readOnly = true)
     public List<AnimalDTO> getByStatus(StatusType status) {
-        List<Animal> animals = animalRepository.findByStatus(status);
+        List<AnimalDTO> animals = animalRepository.findByStatus(status);
         if (animals.isEmpty()) {
             throw new RuntimeException("Nenhum animal encontrado com o status: " + status);
         }
-        return animals.stream()
-                .map(animal -> new AnimalDTO(
-                        animal.getId(),
-                        animal.getName(),
-                        animal.getDescription(),
-                        animal.getCategory(),
-                        animal.getStatus()
-                ))
-                .toList();
+        return animals;
+    }
+
+    @Transactional(readOnly = true)
+    public void streamByName(String name, Consumer<AnimalDTO> sink) {
+        try (Stream<AnimalDTO> animals = animalRepository.streamByName(name)) {
+            animals.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamByCategory(CategoryType category, Consumer<AnimalDTO> sink) {
+        try (Stream<AnimalDTO> animals = animalRepository.streamByCategory(category)) {
+            animals.forEach(sink);
+        }
     }
 
+    @Transactional(readOnly = true)
+    public void streamByStatus(StatusType status, Consumer<AnimalDTO> sink) {
+        try (Stream<AnimalDTO> animals = animalRepository.streamByStatus(status)) {
+            animals.forEach(sink);
+        }
+    }
+
+    @Transactional
     public AnimalDTO createAnimal(AnimalDTO animalDTO ) {
     	 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     	 User user = (User) authentication.getPrincipal();
@@ -136,18 +163,15 @@ public class AnimalService {
         animal.setOng(user);
 
         Animal savedAnimal = animalRepository.save(animal);
-        return new AnimalDTO(
-                savedAnimal.getId(),
-                savedAnimal.getName(),
-                savedAnimal.getDescription(),
-                savedAnimal.getCategory(),
-                savedAnimal.getStatus()
-        );
+        eventPublisher.publishEvent(AnimalChangedEvent.created(savedAnimal));
+        return AnimalDTO.from(savedAnimal);
     }
 
+    @Transactional
     public AnimalDTO updateAnimal(String id, AnimalDTO animalDTO) {
         Animal animal = animalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Animal não encontrado"));
+        AnimalSnapshot before = AnimalSnapshot.of(animal);
 
         animal.setName(animalDTO.name());
         animal.setDescription(animalDTO.description());
@@ -155,32 +179,70 @@ public class AnimalService {
         animal.setStatus(animalDTO.status());
 
         Animal updatedAnimal = animalRepository.save(animal);
-        return new AnimalDTO(
-                updatedAnimal.getId(),
-                updatedAnimal.getName(),
-                updatedAnimal.getDescription(),
-                updatedAnimal.getCategory(),
-                updatedAnimal.getStatus()
-        );
+        eventPublisher.publishEvent(AnimalChangedEvent.updated(before, updatedAnimal));
+        return AnimalDTO.from(updatedAnimal);
     }
 
-    public ResponseEntity<ResponseDTO> deleteAnimal(String id) {
+    @Transactional
+    public ResponseEntity<ResponseDTO<?>> deleteAnimal(String id) {
         Animal animal = animalRepository.findById(id)
                         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Animal não encontrado"));
+        AnimalSnapshot before = AnimalSnapshot.of(animal);
         animalRepository.delete(animal);
+        eventPublisher.publishEvent(AnimalChangedEvent.deleted(before));
         return ResponseEntity.ok(ResponseDTO.success("Animal deletado com sucesso", null));
     }
 
+    // Alteração em massa: uma seleção travada (para os eventos) e um único UPDATE sobre o conjunto.
+    // Animais que já têm os valores pedidos ficam de fora e não contam como afetados.
+    @Transactional
+    public ResponseEntity<ResponseDTO<AnimalBulkResultDTO>> bulkUpdate(AnimalBulkUpdateDTO request) {
+        User ong = currentOng();
+        if (request.category() == null && request.status() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe category e/ou status para alterar");
+        }
+        List<AnimalSnapshot> changed = lockForBulk(ong, request.where(), false).stream()
+                .filter(animal -> (request.category() != null && animal.category() != request.category())
+                        || (request.status() != null && animal.status() != request.status()))
+                .toList();
+
+        int affected = changed.isEmpty() ? 0 : animalRepository.updateCategoryAndStatus(
+                changed.stream().map(AnimalSnapshot::id).toArray(String[]::new),
+                request.category() != null ? request.category().name() : null,
+                request.status() != null ? request.status().name() : null);
+        changed.forEach(before -> eventPublisher.publishEvent(new AnimalChangedEvent(before, new AnimalSnapshot(
+                before.id(), before.ongId(), before.name(), before.description(),
+                request.category() != null ? request.category() : before.category(),
+                request.status() != null ? request.status() : before.status()))));
+
+        return ResponseEntity.ok(ResponseDTO.success(affected + " animais alterados", new AnimalBulkResultDTO(affected)));
+    }
+
+    // Remoção em massa; animais com adoção registrada são mantidos (o histórico referencia o animal)
+    @Transactional
+    public ResponseEntity<ResponseDTO<AnimalBulkResultDTO>> bulkDelete(AnimalSelectionDTO where) {
+        User ong = currentOng();
+        List<AnimalSnapshot> deleted = lockForBulk(ong, where, true);
+
+        int affected = deleted.isEmpty() ? 0 : animalRepository.deleteAllByIds(
+                deleted.stream().map(AnimalSnapshot::id).toArray(String[]::new));
+        deleted.forEach(before -> eventPublisher.publishEvent(AnimalChangedEvent.deleted(before)));
+
+        return ResponseEntity.ok(ResponseDTO.success(affected + " animais removidos", new AnimalBulkResultDTO(affected)));
+    }
+
+    // A transição AVAILABLE -> ADOPTED é um único UPDATE condicional: sem lock pessimista,
+    // apenas uma requisição concorrente altera a linha e as demais recebem 409
+    @Transactional
     public AdoptionResponseDTO adoptAnimal(String animalId) {
         Animal animal = animalRepository.findById(animalId)
-                .orElseThrow(() -> new RuntimeException("Animal não encontrado"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Animal não encontrado"));
+        AnimalSnapshot before = AnimalSnapshot.of(animal);
 
-        if (animal.getStatus() != StatusType.AVAILABLE) {
-            throw new RuntimeException("Animal não está disponível para adoção");
+        if (animalRepository.updateStatusIf(animalId, StatusType.AVAILABLE, StatusType.ADOPTED) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Animal não está disponível para adoção");
         }
-
-        animal.setStatus(StatusType.ADOPTED);
-        Animal adoptedAnimal = animalRepository.save(animal);
+        AnimalSnapshot after = before.withStatus(StatusType.ADOPTED);
 
         // Get authenticated user
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -188,21 +250,63 @@ public class AnimalService {
 
         // Save adoption record
         Adoption adoption = new Adoption();
-        adoption.setAnimal(adoptedAnimal);
+        adoption.setAnimal(animalRepository.getReferenceById(animalId));
         adoption.setAdopter(user);
         adoption.setAdoptionDate(LocalDateTime.now());
         adoptionRepository.save(adoption);
+        eventPublisher.publishEvent(new AnimalChangedEvent(before, after));
 
         return new AdoptionResponseDTO(
-                new AnimalDTO(
-                        adoptedAnimal.getId(),
-                        adoptedAnimal.getName(),
-                        adoptedAnimal.getDescription(),
-                        adoptedAnimal.getCategory(),
-                        adoptedAnimal.getStatus()
-                ),
+                new AnimalDTO(after.id(), after.name(), after.description(), after.category(), after.status()),
                 new UserDTO(user.getId(), user.getName(), user.getEmail()),
                 adoption.getAdoptionDate()
         );
     }
+
+    private static User currentOng() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        if (user.getUserType() != UserType.JURIDICO && user.getUserType() != UserType.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas ONGs podem alterar animais em massa");
+        }
+        return user;
+    }
+
+    // Sem ids e sem filtro a operação atingiria todos os animais da ONG: exige que a seleção seja explícita
+    private List<AnimalSnapshot> lockForBulk(User ong, AnimalSelectionDTO where, boolean excludeAdopted) {
+        boolean byIds = where != null && where.ids() != null && !where.ids().isEmpty();
+        if (!byIds && (where == null || (where.category() == null && where.status() == null))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ids e/ou um filtro (category, status)");
+        }
+        if (byIds && where.ids().size() > MAX_BULK_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No máximo " + MAX_BULK_IDS + " ids por requisição");
+        }
+        List<AnimalDTO> animals = byIds
+                ? animalRepository.lockForBulkByIds(ong.getId(), where.ids(), where.category(), where.status(), excludeAdopted)
+                : animalRepository.lockForBulkByFilter(ong.getId(), where.category(), where.status(), excludeAdopted);
+        return animals.stream()
+                .map(animal -> new AnimalSnapshot(animal.id(), ong.getId(), animal.name(), animal.description(),
+                        animal.category(), animal.status()))
+                .toList();
+    }
+
+    private User currentUserOrNull() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication.getPrincipal() instanceof String)) {
+            return (User) authentication.getPrincipal();
+        }
+        return null;
+    }
+
+    private static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
 }
@@ -0,0 +1,195 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent.AnimalSnapshot;
+import br.edu.utfpr.alunos.webpet.dto.AnimalFacetCount;
+import br.edu.utfpr.alunos.webpet.dto.AnimalStatsDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Contadores por (ONG, categoria, status) mantidos pelos AnimalChangedEvent, sem COUNT por requisição
+@Slf4j
+@Service
+public class AnimalStatsService implements SmartInitializingSingleton {
+    private final AnimalRepository animalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<FacetKey, AtomicLong> counters = new ConcurrentHashMap<>();
+    // Transações que alteram animais seguram a leitura do commit até a aplicação dos seus eventos (em paralelo
+    // entre si); a recontagem lê o banco e ajusta sob a escrita, sem nenhuma transação nesse intervalo
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AnimalStatsService(AnimalRepository animalRepository, PlatformTransactionManager transactionManager) {
+        this.animalRepository = animalRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        adjustToDatabase();
+    }
+
+    // Corrige divergências (eventos perdidos, alterações feitas fora da aplicação) recontando no banco
+    @Scheduled(initialDelayString = "${webpet.animal-stats.reconcile-interval:10m}",
+            fixedDelayString = "${webpet.animal-stats.reconcile-interval:10m}")
+    public void reconcile() {
+        int drifted = adjustToDatabase();
+        if (drifted > 0) {
+            log.warn("Contadores de animais reconciliados: {} combinações divergiam do banco", drifted);
+        }
+    }
+
+    // Sem isso, uma transação que commita antes da recontagem e aplica o evento depois dela contaria duas vezes.
+    // Uma vez por transação, liberado no afterCompletion, depois dos listeners AFTER_COMMIT (mesma ordem,
+    // registrado depois deles)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void holdUntilApplied(AnimalChangedEvent event) {
+        if (TransactionSynchronizationManager.hasResource(lock)) {
+            return;
+        }
+        lock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(lock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(lock);
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    // Eventos publicados fora de transação (fallbackExecution) não passam pelo holdUntilApplied: a alteração
+    // já está no banco quando chegam aqui, e uma recontagem nesse intervalo conta a linha duas vezes até a próxima
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (event.before() != null) {
+                counter(FacetKey.of(event.before())).decrementAndGet();
+            }
+            if (event.after() != null) {
+                counter(FacetKey.of(event.after())).incrementAndGet();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ResponseEntity<ResponseDTO<AnimalStatsDTO>> getStats(String ongId) {
+        long total = 0;
+        Map<CategoryType, Long> byCategory = new EnumMap<>(CategoryType.class);
+        Map<StatusType, Long> byStatus = new EnumMap<>(StatusType.class);
+        Map<CategoryType, Map<StatusType, Long>> byCategoryAndStatus = new EnumMap<>(CategoryType.class);
+        for (CategoryType category : CategoryType.values()) {
+            byCategory.put(category, 0L);
+            Map<StatusType, Long> statuses = new EnumMap<>(StatusType.class);
+            for (StatusType status : StatusType.values()) {
+                statuses.put(status, 0L);
+            }
+            byCategoryAndStatus.put(category, statuses);
+        }
+        for (StatusType status : StatusType.values()) {
+            byStatus.put(status, 0L);
+        }
+
+        for (Map.Entry<FacetKey, AtomicLong> entry : counters.entrySet()) {
+            FacetKey key = entry.getKey();
+            long count = entry.getValue().get();
+            if (count == 0 || (ongId != null && !ongId.equals(key.ongId()))) {
+                continue;
+            }
+            total += count;
+            if (key.category() != null) {
+                byCategory.merge(key.category(), count, Long::sum);
+            }
+            if (key.status() != null) {
+                byStatus.merge(key.status(), count, Long::sum);
+            }
+            if (key.category() != null && key.status() != null) {
+                byCategoryAndStatus.get(key.category()).merge(key.status(), count, Long::sum);
+            }
+        }
+
+        return ResponseEntity.ok(ResponseDTO.success("Estatísticas de animais obtidas com sucesso",
+                new AnimalStatsDTO(ongId, total, byCategory, byStatus, byCategoryAndStatus)));
+    }
+
+    // Soma em cada contador a diferença (banco − memória) em vez de trocar o mapa: quem já leu um contador
+    // continua incrementando o mesmo objeto. Sob a escrita, toda transação commitada já aplicou seus eventos e
+    // nenhuma outra commita até o ajuste, então nenhum evento fica de fora nem conta duas vezes.
+    // A conexão é obtida antes da escrita: quem espera no commit segura a sua, e o pool pode estar esgotado
+    private int adjustToDatabase() {
+        Integer drifted = transactionTemplate.execute(status -> {
+            lock.writeLock().lock();
+            try {
+                Map<FacetKey, Long> fresh = load();
+                Set<FacetKey> keys = new HashSet<>(fresh.keySet());
+                keys.addAll(counters.keySet());
+                int changed = 0;
+                for (FacetKey key : keys) {
+                    long delta = fresh.getOrDefault(key, 0L) - valueOf(key);
+                    if (delta != 0) {
+                        counter(key).addAndGet(delta);
+                        changed++;
+                    }
+                }
+                return changed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        return drifted != null ? drifted : 0;
+    }
+
+    private Map<FacetKey, Long> load() {
+        Map<FacetKey, Long> loaded = new HashMap<>();
+        for (AnimalFacetCount facet : animalRepository.countByOngAndCategoryAndStatus()) {
+            loaded.put(new FacetKey(facet.ongId(), facet.category(), facet.status()), facet.count());
+        }
+        return loaded;
+    }
+
+    private AtomicLong counter(FacetKey key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private long valueOf(FacetKey key) {
+        AtomicLong value = counters.get(key);
+        return value != null ? value.get() : 0L;
+    }
+
+    private record FacetKey(String ongId, CategoryType category, StatusType status) {
+        static FacetKey of(AnimalSnapshot animal) {
+            return new FacetKey(animal.ongId(), animal.category(), animal.status());
+        }
+    }
+}
@@ -2,10 +2,12 @@ package br.edu.utfpr.alunos.webpet.services;
 
 import br.edu.utfpr.alunos.webpet.domain.user.User;
 import br.edu.utfpr.alunos.webpet.dto.*;
+import br.edu.utfpr.alunos.webpet.infra.security.PasswordHashingExecutor;
 import br.edu.utfpr.alunos.webpet.infra.security.TokenService;
 import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
 import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -17,15 +19,16 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    public ResponseDTO register(RegisterRequestDTO body) {
+    public ResponseDTO<AuthResponseDTO> register(RegisterRequestDTO body) {
         Optional<User> user = userRepository.findByEmail(body.email());
         if (user.isPresent()) {
             return ResponseDTO.error("Email já cadastrado");
         }
 
         User newUser = new User();
-        newUser.setPassword(passwordEncoder.encode(body.password()));
+        newUser.setPassword(passwordHashingExecutor.run(() -> passwordEncoder.encode(body.password())));
         newUser.setEmail(body.email());
         newUser.setName(body.name());
         newUser.setPhone(body.phone());
@@ -41,43 +44,37 @@ public class AuthService {
             newUser.setCnpj(body.cnpj());
         }
 
-        userRepository.save(newUser);
+        try {
+            userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // Outro cadastro com o mesmo e-mail passou pela checagem ao mesmo tempo; o índice único barrou este
+            return ResponseDTO.error("Email já cadastrado");
+        }
 
         String token = tokenService.generateToken(newUser);
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("id", newUser.getId());
-        data.put("name", newUser.getName());
-        data.put("email", newUser.getEmail());
-        data.put("token", token);
-        data.put("userType", newUser.getUserType());
-
-        return ResponseDTO.success("Usuário registrado com sucesso", data);
+        return ResponseDTO.success("Usuário registrado com sucesso", AuthResponseDTO.of(newUser, token));
     }
 
-    public ResponseDTO login(LoginRequestDTO body) {
+    public ResponseDTO<AuthResponseDTO> login(LoginRequestDTO body) {
         User user = userRepository.findByEmail(body.email())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado!"));
 
-        boolean passwordMatches = passwordEncoder.matches(body.password(), user.getPassword());
-
-        if (!passwordMatches && body.password().equals(user.getPassword())) {
-            passwordMatches = true;
-        }
+        String storedPassword = user.getPassword();
+        boolean passwordMatches = passwordHashingExecutor.run(() -> passwordEncoder.matches(body.password(), storedPassword));
 
         if (!passwordMatches) {
             return ResponseDTO.error("Senha incorreta");
         }
 
-        String token = tokenService.generateToken(user);
+        // Senha em formato legado (texto plano, BCrypt sem prefixo ou custo menor): regrava com o encoder atual
+        if (passwordEncoder.upgradeEncoding(storedPassword)) {
+            user.setPassword(passwordHashingExecutor.run(() -> passwordEncoder.encode(body.password())));
+            userRepository.save(user);
+        }
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("id", user.getId());
-        data.put("name", user.getName());
-        data.put("email", user.getEmail());
-        data.put("token", token);
-        data.put("userType", user.getUserType());
+        String token = tokenService.generateToken(user);
 
-        return ResponseDTO.success("Login realizado com sucesso", data);
+        return ResponseDTO.success("Login realizado com sucesso", AuthResponseDTO.of(user, token));
     }
 }
\ No newline at end of file
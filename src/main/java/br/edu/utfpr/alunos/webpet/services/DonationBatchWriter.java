@@ -0,0 +1,401 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.infra.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Grava doações em lotes a partir de uma fila limitada (write-behind). Cada lote é um único INSERT
+// com arrays; linhas repetidas pela mesma chave de idempotência são descartadas pelo ON CONFLICT e
+// só as linhas de fato inseridas somam no razão (donation_totals), no mesmo comando.
+// Um lote recusado pelo banco por causa dos dados é regravado linha a linha: só as linhas que ainda
+// falham vão para donation_dead_letters. Falhas de infraestrutura mantêm o lote e tentam de novo.
+// No encerramento, o que o banco não aceitar vai para o spool em disco, regravado no próximo start().
+@Slf4j
+@Service
+public class DonationBatchWriter implements SmartLifecycle {
+    private static final String INSERT_SQL = """
+            WITH inserted AS (
+                INSERT INTO donations (id, user_id, amount, payment_method, donation_date, idempotency_key)
+                SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::numeric[], ?::varchar[], ?::timestamp[], ?::varchar[])
+                ON CONFLICT DO NOTHING
+                RETURNING user_id, amount, payment_method, donation_date
+            )
+            INSERT INTO donation_totals (scope, scope_key, total_amount, donation_count, updated_at)
+            SELECT scope, scope_key, total_amount, donation_count, LOCALTIMESTAMP
+            FROM (%s) totals
+            ORDER BY scope, scope_key
+            ON CONFLICT (scope, scope_key) DO UPDATE SET
+                total_amount = donation_totals.total_amount + EXCLUDED.total_amount,
+                donation_count = donation_totals.donation_count + EXCLUDED.donation_count,
+                updated_at = EXCLUDED.updated_at""".formatted(DonationLedgerService.aggregateFrom("inserted"));
+    private static final String DEAD_LETTER_SQL = """
+            INSERT INTO donation_dead_letters (id, user_id, amount, payment_method, donation_date, idempotency_key, error)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET error = EXCLUDED.error, failed_at = now()""";
+    private static final String SELECT_STORED_SQL = """
+            SELECT id, user_id, amount, payment_method, donation_date, idempotency_key
+            FROM donations WHERE id = ?""";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(30);
+    // Tentativas depois do stop(), quando não dá mais para esperar o banco voltar
+    private static final int MAX_FLUSH_ATTEMPTS_ON_STOP = 3;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(20);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean synchronous;
+    private final int batchSize;
+    private final Duration linger;
+    private final Path spoolFile;
+    private final BlockingQueue<PendingDonation> queue;
+    // submit() enfileira sob a leitura; stop() fecha a admissão sob a escrita. Depois que o worker vê
+    // running == false nenhuma doação entra mais na fila, então esvaziá-la basta para não perder nada
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+    // Doações aceitas e ainda não gravadas, por doador + chave de idempotência
+    private final Map<String, PendingDonation> pending = new ConcurrentHashMap<>();
+    private final Counter deadLetters;
+    private final Counter spooled;
+    private volatile boolean running;
+    private Thread worker;
+
+    public DonationBatchWriter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               ObjectMapper objectMapper,
+                               @Value("${webpet.donation.ingestion.mode:async}") String mode,
+                               @Value("${webpet.donation.ingestion.queue-capacity:10000}") int queueCapacity,
+                               @Value("${webpet.donation.ingestion.batch-size:500}") int batchSize,
+                               @Value("${webpet.donation.ingestion.linger:50ms}") Duration linger,
+                               @Value("${webpet.donation.ingestion.spool-file:data/donation-spool.ndjson}") Path spoolFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.synchronous = "sync".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.spoolFile = spoolFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("donations.ingestion.queue", queue, BlockingQueue::size)
+                .description("Doações aceitas aguardando gravação")
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("donations.ingestion.dead_letters")
+                .description("Doações aceitas que não puderam ser gravadas e foram para donation_dead_letters")
+                .register(meterRegistry);
+        this.spooled = Counter.builder("donations.ingestion.spooled")
+                .description("Doações aceitas que o banco não gravou no encerramento e foram para o spool em disco")
+                .register(meterRegistry);
+    }
+
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    public PendingDonation findPending(String donorId, String idempotencyKey) {
+        return pending.get(pendingKey(donorId, idempotencyKey));
+    }
+
+    // Retorna a doação que ficou registrada para a chave: a nova ou uma já aceita anteriormente
+    public PendingDonation submit(PendingDonation donation) {
+        if (synchronous) {
+            flush(List.of(donation));
+            // O ON CONFLICT pode ter mantido a linha gravada antes: responde com ela, não com o que foi enviado
+            return jdbcTemplate.queryForObject(SELECT_STORED_SQL, (rs, row) -> new PendingDonation(
+                    rs.getString("id"),
+                    rs.getString("user_id"),
+                    rs.getBigDecimal("amount"),
+                    rs.getString("payment_method"),
+                    rs.getTimestamp("donation_date").toLocalDateTime(),
+                    rs.getString("idempotency_key")
+            ), donation.id());
+        }
+        admission.readLock().lock();
+        try {
+            if (!running) {
+                throw new ServiceUnavailableException("Recebimento de doações indisponível no momento", RETRY_AFTER);
+            }
+            String key = pendingKey(donation.donorId(), donation.idempotencyKey());
+            PendingDonation previous = pending.putIfAbsent(key, donation);
+            if (previous != null) {
+                return previous;
+            }
+            if (!queue.offer(donation)) {
+                pending.remove(key, donation);
+                throw new ServiceUnavailableException("Fila de doações cheia, tente novamente", RETRY_AFTER);
+            }
+            return donation;
+        } finally {
+            admission.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        replaySpool();
+        if (synchronous) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drain, "donation-batch-writer");
+        worker.start();
+    }
+
+    // Fecha a admissão e espera o worker esvaziar a fila. Se o banco não deixar, o worker é interrompido
+    // e manda o que sobrou para o spool
+    @Override
+    public void stop() {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        if (worker != null) {
+            try {
+                if (!worker.join(STOP_TIMEOUT)) {
+                    worker.interrupt();
+                    worker.join(STOP_TIMEOUT);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    // Começa antes e para depois do servidor web (fase SMART_LIFECYCLE_PHASE - 1024): o graceful shutdown
+    // termina as requisições em andamento com a admissão ainda aberta, e o DataSource só fecha depois
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void drain() {
+        List<PendingDonation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDonation first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Espera até o linger para juntar mais doações no mesmo lote
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingDonation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushWithRetry(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                spool(batch);
+                return;
+            } finally {
+                batch.forEach(donation -> pending.remove(pendingKey(donation.donorId(), donation.idempotencyKey())));
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushWithRetry(List<PendingDonation> batch) throws InterruptedException {
+        try {
+            retrying(batch, () -> flush(batch));
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0), e);
+                return;
+            }
+            // Uma linha ruim (doador removido, valor fora da faixa) não pode derrubar as outras do lote
+            log.warn("Lote de {} doações recusado, gravando linha a linha", batch.size(), e);
+            for (PendingDonation donation : batch) {
+                try {
+                    retrying(List.of(donation), () -> flush(List.of(donation)));
+                } catch (DataIntegrityViolationException rowError) {
+                    deadLetter(donation, rowError);
+                }
+            }
+        }
+    }
+
+    // Repete enquanto o erro não for dos próprios dados. Com o writer parado, desiste depois de algumas
+    // tentativas e manda o lote para o spool, regravado quando a aplicação subir de novo.
+    private void retrying(List<PendingDonation> batch, Runnable write) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write.run();
+                return;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (!running && attempt >= MAX_FLUSH_ATTEMPTS_ON_STOP) {
+                    log.error("Banco indisponível no encerramento, {} doações vão para o spool", batch.size(), e);
+                    spool(batch);
+                    return;
+                }
+                log.warn("Falha ao gravar lote de {} doações, tentativa {}", batch.size(), attempt, e);
+                Thread.sleep(Math.min(RETRY_AFTER.toMillis() * attempt, MAX_RETRY_BACKOFF.toMillis()));
+            }
+        }
+    }
+
+    private void deadLetter(PendingDonation donation, DataIntegrityViolationException error) {
+        deadLetters.increment();
+        try {
+            jdbcTemplate.update(DEAD_LETTER_SQL,
+                    donation.id(),
+                    donation.donorId(),
+                    donation.amount(),
+                    donation.paymentMethod(),
+                    Timestamp.valueOf(donation.donationDate()),
+                    donation.idempotencyKey(),
+                    String.valueOf(error.getMostSpecificCause().getMessage()));
+            log.error("Doação {} recusada pelo banco, guardada em donation_dead_letters", donation.id(), error);
+        } catch (RuntimeException e) {
+            log.error("Doação {} recusada pelo banco e não guardada em donation_dead_letters", donation.id(), e);
+            spool(List.of(donation));
+        }
+    }
+
+    // Uma doação por linha (NDJSON), com fsync: a resposta 202 já foi dada, o arquivo é a última garantia.
+    // Regravar duas vezes não duplica nada, o INSERT descarta ids e chaves de idempotência já gravados.
+    private synchronized void spool(List<PendingDonation> donations) {
+        if (donations.isEmpty()) {
+            return;
+        }
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (PendingDonation donation : donations) {
+                lines.append(objectMapper.writeValueAsString(donation)).append('\n');
+            }
+            Files.createDirectories(spoolFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(spoolFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            spooled.increment(donations.size());
+            log.warn("{} doações guardadas em {}", donations.size(), spoolFile);
+        } catch (IOException e) {
+            log.error("Spool indisponível, {} doações não gravadas: {}", donations.size(), donations, e);
+        }
+    }
+
+    // O spool é renomeado antes de regravar: o que falhar de novo vai para um spool novo, e um .replaying
+    // que sobrou de uma queda no meio da regravação é lido outra vez
+    private void replaySpool() {
+        Path replaying = spoolFile.resolveSibling(spoolFile.getFileName() + ".replaying");
+        try {
+            if (Files.exists(spoolFile) && !Files.exists(replaying)) {
+                Files.move(spoolFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+            if (!Files.exists(replaying)) {
+                return;
+            }
+            List<PendingDonation> donations = new ArrayList<>();
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    donations.add(objectMapper.readValue(line, PendingDonation.class));
+                }
+            }
+            log.info("Regravando {} doações do spool {}", donations.size(), spoolFile);
+            for (int from = 0; from < donations.size(); from += batchSize) {
+                flushWithRetry(donations.subList(from, Math.min(from + batchSize, donations.size())));
+            }
+            Files.delete(replaying);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível regravar o spool de doações " + replaying, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<PendingDonation> batch) {
+        int size = batch.size();
+        String[] ids = new String[size];
+        String[] donorIds = new String[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        String[] paymentMethods = new String[size];
+        Timestamp[] donationDates = new Timestamp[size];
+        String[] idempotencyKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingDonation donation = batch.get(i);
+            ids[i] = donation.id();
+            donorIds[i] = donation.donorId();
+            amounts[i] = donation.amount();
+            paymentMethods[i] = donation.paymentMethod();
+            donationDates[i] = Timestamp.valueOf(donation.donationDate());
+            idempotencyKeys[i] = donation.idempotencyKey();
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", ids));
+            statement.setArray(2, connection.createArrayOf("varchar", donorIds));
+            statement.setArray(3, connection.createArrayOf("numeric", amounts));
+            statement.setArray(4, connection.createArrayOf("varchar", paymentMethods));
+            statement.setArray(5, connection.createArrayOf("timestamp", donationDates));
+            statement.setArray(6, connection.createArrayOf("varchar", idempotencyKeys));
+            return statement;
+        }));
+    }
+
+    private static String pendingKey(String donorId, String idempotencyKey) {
+        return donorId + ':' + idempotencyKey;
+    }
+
+    public record PendingDonation(
+            String id,
+            String donorId,
+            BigDecimal amount,
+            String paymentMethod,
+            LocalDateTime donationDate,
+            String idempotencyKey
+    ) {}
+}
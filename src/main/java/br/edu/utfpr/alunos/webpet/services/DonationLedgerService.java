@@ -0,0 +1,165 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.DonationTotal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.DonationTotalDTO;
+import br.edu.utfpr.alunos.webpet.dto.DonationTotalsDTO;
+import br.edu.utfpr.alunos.webpet.dto.DonorTotalDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.repositories.DonationTotalRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.DonationTotalScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Razão de doações: leituras O(1) sobre donation_totals, verificação e reconstrução a partir de donations
+@Slf4j
+@Service
+public class DonationLedgerService implements SmartInitializingSingleton {
+    private final DonationTotalRepository donationTotalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DonationLedgerService(DonationTotalRepository donationTotalRepository, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.donationTotalRepository = donationTotalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Mesma agregação usada na gravação incremental (sobre as linhas inseridas) e na reconstrução (sobre donations)
+    static String aggregateFrom(String source) {
+        return """
+                SELECT 'DONOR' AS scope, user_id AS scope_key, SUM(amount) AS total_amount, COUNT(*) AS donation_count
+                FROM %1$s GROUP BY user_id
+                UNION ALL
+                SELECT 'PAYMENT_METHOD', payment_method, SUM(amount), COUNT(*)
+                FROM %1$s GROUP BY payment_method
+                UNION ALL
+                SELECT 'DAY', to_char(donation_date, 'YYYY-MM-DD'), SUM(amount), COUNT(*)
+                FROM %1$s GROUP BY to_char(donation_date, 'YYYY-MM-DD')""".formatted(source);
+    }
+
+    // Primeira subida com doações já existentes: monta o razão uma vez
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (donationTotalRepository.count() == 0) {
+            Rebuild result = rebuild();
+            if (result.rows() > 0) {
+                log.info("Razão de doações montado a partir de donations: {} totais", result.rows());
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<DonorTotalDTO>> getMyTotal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        DonationTotalDTO total = donationTotalRepository.findById(new DonationTotal.Key(DonationTotalScope.DONOR, user.getId()))
+                .map(DonationTotalDTO::from)
+                .orElse(new DonationTotalDTO(DonationTotalScope.DONOR, user.getId(), BigDecimal.ZERO, 0));
+        return ResponseEntity.ok(ResponseDTO.success("Total de doações obtido com sucesso", new DonorTotalDTO(total)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<DonationTotalsDTO>> getPaymentMethodTotals() {
+        List<DonationTotalDTO> totals = donationTotalRepository.findByScope(DonationTotalScope.PAYMENT_METHOD).stream()
+                .map(DonationTotalDTO::from)
+                .toList();
+
+        return ResponseEntity.ok(ResponseDTO.success("Totais por forma de pagamento obtidos com sucesso",
+                DonationTotalsDTO.of(totals, null, null)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResponseDTO<DonationTotalsDTO>> getDayTotals(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data final anterior à data inicial");
+        }
+        List<DonationTotalDTO> totals = donationTotalRepository
+                .findByScopeAndKeyBetween(DonationTotalScope.DAY, from.toString(), to.toString()).stream()
+                .map(DonationTotalDTO::from)
+                .toList();
+        return ResponseEntity.ok(ResponseDTO.success("Totais por dia obtidos com sucesso", DonationTotalsDTO.of(totals, from, to)));
+    }
+
+    // Compara o razão com a agregação completa de donations; não altera nada
+    @Transactional(readOnly = true)
+    public Verification verify() {
+        Map<DonationTotal.Key, Aggregate> expected = aggregate(aggregateFrom("donations"));
+        Map<DonationTotal.Key, Aggregate> actual = aggregate(
+                "SELECT scope, scope_key, total_amount, donation_count FROM donation_totals");
+
+        Set<DonationTotal.Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        List<Drift> drift = new ArrayList<>();
+        for (DonationTotal.Key key : keys) {
+            Aggregate expectedTotal = expected.getOrDefault(key, Aggregate.EMPTY);
+            Aggregate actualTotal = actual.getOrDefault(key, Aggregate.EMPTY);
+            if (!expectedTotal.matches(actualTotal)) {
+                drift.add(new Drift(key.getScope(), key.getScopeKey(), expectedTotal, actualTotal));
+            }
+        }
+
+        return new Verification(drift.isEmpty(), expected.size(), drift);
+    }
+
+    // Recalcula todo o razão; o lock impede que um lote grave no meio da troca
+    public Rebuild rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE donation_totals IN EXCLUSIVE MODE");
+            jdbcTemplate.update("DELETE FROM donation_totals");
+            return jdbcTemplate.update("""
+                    INSERT INTO donation_totals (scope, scope_key, total_amount, donation_count, updated_at)
+                    SELECT scope, scope_key, total_amount, donation_count, LOCALTIMESTAMP FROM (%s) totals""".formatted(
+                    aggregateFrom("donations")));
+        });
+
+        return new Rebuild(true, rows != null ? rows : 0);
+    }
+
+    private Map<DonationTotal.Key, Aggregate> aggregate(String sql) {
+        Map<DonationTotal.Key, Aggregate> totals = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            totals.put(
+                    new DonationTotal.Key(DonationTotalScope.valueOf(rs.getString(1)), rs.getString(2)),
+                    new Aggregate(rs.getBigDecimal(3), rs.getLong(4)));
+        });
+        return totals;
+    }
+
+    public record Verification(boolean consistent, int rows, List<Drift> drift) {
+    }
+
+    public record Drift(DonationTotalScope scope, String key, Aggregate expected, Aggregate actual) {
+    }
+
+    public record Rebuild(boolean rebuilt, int rows) {
+    }
+
+    public record Aggregate(BigDecimal totalAmount, long donationCount) {
+        static final Aggregate EMPTY = new Aggregate(BigDecimal.ZERO, 0);
+
+        boolean matches(Aggregate other) {
+            return totalAmount.compareTo(other.totalAmount) == 0 && donationCount == other.donationCount;
+        }
+    }
+}
@@ -5,38 +5,79 @@ import br.edu.utfpr.alunos.webpet.domain.user.User;
 import br.edu.utfpr.alunos.webpet.dto.DonationResponseDTO;
 import br.edu.utfpr.alunos.webpet.dto.UserDTO;
 import br.edu.utfpr.alunos.webpet.repositories.DonationRepository;
+import br.edu.utfpr.alunos.webpet.services.DonationBatchWriter.PendingDonation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class DonationService {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final DonationRepository donationRepository;
+    private final DonationBatchWriter donationBatchWriter;
 
-    public DonationService(DonationRepository donationRepository) {
+    public DonationService(DonationRepository donationRepository, DonationBatchWriter donationBatchWriter) {
         this.donationRepository = donationRepository;
+        this.donationBatchWriter = donationBatchWriter;
     }
 
-    public DonationResponseDTO donate(BigDecimal amount, String paymentMethod) {
+    // Aceita a doação na fila e responde 202; repetir a chamada com a mesma Idempotency-Key devolve a mesma doação
+    public ResponseEntity<DonationResponseDTO> donate(BigDecimal amount, String paymentMethod, String idempotencyKey) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User user = (User) authentication.getPrincipal();
+        UserDTO donor = new UserDTO(user.getId(), user.getName(), user.getEmail());
+
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? UUID.randomUUID().toString() : idempotencyKey;
+        if (key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key muito longa");
+        }
+
+        PendingDonation queued = donationBatchWriter.findPending(user.getId(), key);
+        if (queued != null) {
+            return ResponseEntity.accepted().body(toResponse(queued, donor));
+        }
+        Optional<Donation> stored = donationRepository.findByDonorIdAndIdempotencyKey(user.getId(), key);
+        if (stored.isPresent()) {
+            Donation donation = stored.get();
+            return ResponseEntity.ok(new DonationResponseDTO(
+                    donation.getId(),
+                    donor,
+                    donation.getAmount(),
+                    donation.getPaymentMethod(),
+                    donation.getDonationDate(),
+                    donation.getIdempotencyKey()
+            ));
+        }
 
-        Donation donation = new Donation();
-        donation.setDonor(user);
-        donation.setAmount(amount);
-        donation.setPaymentMethod(paymentMethod);
-        donation.setDonationDate(LocalDateTime.now());
-        donationRepository.save(donation);
+        // Id derivado de doador + chave: uma repetição concorrente gera a mesma linha e cai no ON CONFLICT
+        String id = UUID.nameUUIDFromBytes((user.getId() + ':' + key).getBytes(StandardCharsets.UTF_8)).toString();
+        PendingDonation accepted = donationBatchWriter.submit(
+                new PendingDonation(id, user.getId(), amount, paymentMethod, LocalDateTime.now(), key));
+
+        DonationResponseDTO response = toResponse(accepted, donor);
+        return donationBatchWriter.isSynchronous()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.accepted().body(response);
+    }
 
+    private static DonationResponseDTO toResponse(PendingDonation donation, UserDTO donor) {
         return new DonationResponseDTO(
-                donation.getId(),
-                new UserDTO(user.getId(), user.getName(), user.getEmail()),
-                donation.getAmount(),
-                donation.getPaymentMethod(),
-                donation.getDonationDate()
+                donation.id(),
+                donor,
+                donation.amount(),
+                donation.paymentMethod(),
+                donation.donationDate(),
+                donation.idempotencyKey()
         );
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,89 @@
 // src/main/java/br/edu/utfpr/alunos/webpet/service/UserService.java
 package br.edu.utfpr.alunos.webpet.services;
 
-import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.domain.events.UserChangedEvent;
+import br.edu.utfpr.alunos.webpet.dto.OngDirectoryDTO;
+import br.edu.utfpr.alunos.webpet.dto.OngDirectoryEntryDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.infra.cache.Revision;
+import br.edu.utfpr.alunos.webpet.infra.http.ResponseEncoders;
 import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
 import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
 
-import java.util.HashMap;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final ResponseEncoders responseEncoders;
+    // Sobe a cada ONG criada, alterada ou removida; o snapshot guarda a geração com que foi montado
+    private final AtomicLong generation = new AtomicLong();
+    // ReentrantLock em vez de synchronized: a reconstrução consulta o banco e não pode fixar a thread virtual
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile OngDirectory directory;
 
-    public List<Map<String, String>> getAllOngs() {
-        List<User> ongs = userRepository.findAllByUserType(UserType.JURIDICO);
-        return ongs.stream()
-                .map(ong -> {
-                    Map<String, String> map = new HashMap<>();
-                    map.put("id", ong.getId());
-                    map.put("name", ong.getName());
-                    map.put("email", ong.getEmail());
-                    map.put("phone", ong.getPhone());
-                    map.put("cnpj", ong.getCnpj());
-                    map.put("description", ong.getDescription());
-                    return map;
-                })
-                .collect(Collectors.toList());
+    // Resposta pronta de GET /user/ongs em cada formato. Só a primeira leitura depois de uma alteração consulta o
+    // banco e serializa; as demais devolvem os mesmos arrays de bytes
+    public OngDirectory getOngDirectory() {
+        OngDirectory current = directory;
+        if (current != null && current.generation() == generation.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            // Lê a geração antes da consulta: uma alteração confirmada durante a montagem força nova reconstrução
+            long expected = generation.get();
+            current = directory;
+            if (current == null || current.generation() != expected) {
+                current = buildDirectory(expected);
+                directory = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
     }
-}
\ No newline at end of file
+
+    // Qualquer alteração de usuário invalida: o evento só traz o estado novo, e uma ONG que deixou de ser
+    // JURIDICO precisa sair do diretório. Se o conteúdo não mudou, a ETag (hash do JSON) continua a mesma
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private OngDirectory buildDirectory(long generation) {
+        List<OngDirectoryEntryDTO> ongs = userRepository.findDirectoryByUserType(UserType.JURIDICO);
+        ResponseDTO<OngDirectoryDTO> body = ResponseDTO.success("Lista de ONGs obtida com sucesso", new OngDirectoryDTO(ongs));
+        try {
+            byte[] json = responseEncoders.encode(null, body);
+            // ETag pelo conteúdo: estável entre reinícios e réplicas enquanto o diretório não muda. O Revision
+            // acrescenta o formato, então cada representação tem a sua
+            String etag = DigestUtils.md5DigestAsHex(json);
+            return new OngDirectory(json, responseEncoders.encode("cbor", body), responseEncoders.encode("smile", body),
+                    new Revision(etag, System.currentTimeMillis()), generation);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Os arrays são compartilhados entre requisições e não devem ser alterados
+    public record OngDirectory(byte[] json, byte[] cbor, byte[] smile, Revision revision, long generation) {
+        // `format` como em ResponseFormats.negotiated: "cbor", "smile" ou null para JSON
+        public byte[] body(String format) {
+            return format == null ? json : switch (format) {
+                case "cbor" -> cbor;
+                case "smile" -> smile;
+                default -> json;
+            };
+        }
+    }
+}
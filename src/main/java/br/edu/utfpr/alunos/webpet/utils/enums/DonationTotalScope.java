@@ -0,0 +1,17 @@
+package br.edu.utfpr.alunos.webpet.utils.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum DonationTotalScope {
+    DONOR("Doador"),
+    PAYMENT_METHOD("Forma de pagamento"),
+    DAY("Dia");
+
+
+    private final String label;
+
+    DonationTotalScope(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.utfpr.alunos.webpet.utils.enums;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Formatos que o ImageIO decodifica sem dependências extras, então toda foto aceita ganha miniaturas
+@Getter
+public enum PhotoFormat {
+    JPEG("image/jpeg", "jpg"),
+    PNG("image/png", "png"),
+    GIF("image/gif", "gif");
+
+    // Bytes necessários para reconhecer qualquer um dos formatos
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final String extension;
+
+    PhotoFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    // Pelo conteúdo (assinatura do arquivo), não pelo Content-Type informado pelo cliente
+    public static Optional<PhotoFormat> detect(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return Optional.of(PNG);
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return Optional.of(GIF);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<PhotoFormat> fromExtension(String extension) {
+        return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+    }
+}
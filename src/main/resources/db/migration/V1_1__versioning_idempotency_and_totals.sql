@@ -0,0 +1,30 @@
+-- Colunas, tabelas e índices que entraram depois do esquema inicial. Bancos criados pelo ddl-auto antigo
+-- chegam aqui sem nada disso; bancos que já os têm passam sem alterações.
+
+-- Controle de concorrência otimista do Animal (@Version)
+ALTER TABLE animals ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Chave de idempotência das doações, única por doador
+ALTER TABLE donations ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(255);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_donations_user_idempotency_key') THEN
+        ALTER TABLE donations ADD CONSTRAINT uk_donations_user_idempotency_key UNIQUE (user_id, idempotency_key);
+    END IF;
+END
+$$;
+
+-- Totais de doações por doador, forma de pagamento e dia
+CREATE TABLE IF NOT EXISTS donation_totals (
+    scope          VARCHAR(255) NOT NULL CHECK (scope IN ('DONOR', 'PAYMENT_METHOD', 'DAY')),
+    scope_key      VARCHAR(255) NOT NULL,
+    total_amount   NUMERIC(38, 2) NOT NULL,
+    donation_count BIGINT NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope, scope_key)
+);
+
+-- Histórico de adoções por adotante e por animal
+CREATE INDEX IF NOT EXISTS idx_adoptions_user_id_date ON adoptions (user_id, adoption_date);
+CREATE INDEX IF NOT EXISTS idx_adoptions_animal_id ON adoptions (animal_id);
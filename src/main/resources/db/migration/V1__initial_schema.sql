@@ -0,0 +1,61 @@
+-- Esquema que o Hibernate gerava com ddl-auto=update antes das migrações, e nada além dele. Tudo é
+-- condicional para que bancos já existentes (linha de base 0) passem por esta migração sem alterações;
+-- o que veio depois fica nas migrações seguintes.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          VARCHAR(255) NOT NULL,
+    name        VARCHAR(255),
+    email       VARCHAR(255),
+    phone       VARCHAR(255),
+    cpf         VARCHAR(255),
+    cnpj        VARCHAR(255),
+    description VARCHAR(255),
+    password    VARCHAR(255),
+    user_type   VARCHAR(255) CHECK (user_type IN ('ADMIN', 'FISICO', 'JURIDICO')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS animals (
+    id          VARCHAR(255) NOT NULL,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    category    VARCHAR(255) CHECK (category IN ('DOG', 'CAT', 'BIRD', 'FISH', 'REPTILE', 'RODENT', 'OTHER')),
+    status      VARCHAR(255) CHECK (status IN ('AVAILABLE', 'ADOPTED')),
+    ong_id      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS adoptions (
+    id            VARCHAR(255) NOT NULL,
+    animal_id     VARCHAR(255) NOT NULL,
+    user_id       VARCHAR(255) NOT NULL,
+    adoption_date TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS donations (
+    id             VARCHAR(255) NOT NULL,
+    user_id        VARCHAR(255) NOT NULL,
+    amount         NUMERIC(38, 2) NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    donation_date  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Chaves estrangeiras com os mesmos nomes que o Hibernate gerava; ADD CONSTRAINT não tem IF NOT EXISTS
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk62lsvmw4ij0kknnc8eaixicsl') THEN
+        ALTER TABLE adoptions ADD CONSTRAINT FK62lsvmw4ij0kknnc8eaixicsl FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk4s4y68pvbsfgmqsddf27sb9i1') THEN
+        ALTER TABLE adoptions ADD CONSTRAINT FK4s4y68pvbsfgmqsddf27sb9i1 FOREIGN KEY (animal_id) REFERENCES animals;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkr9uiibfdg9ec4mpljwmdtqivr') THEN
+        ALTER TABLE animals ADD CONSTRAINT FKr9uiibfdg9ec4mpljwmdtqivr FOREIGN KEY (ong_id) REFERENCES users;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkd2p196clbvqgbemy05ndspwu') THEN
+        ALTER TABLE donations ADD CONSTRAINT FKd2p196clbvqgbemy05ndspwu FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+END
+$$;
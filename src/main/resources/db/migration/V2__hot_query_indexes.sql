@@ -0,0 +1,27 @@
+-- Login e SecurityFilter buscam o usuário por e-mail; o índice único também impede cadastro duplicado
+-- quando duas requisições passam juntas pela checagem do AuthService
+-- Bancos antigos podem ter e-mails repetidos. Apagar ou renomear contas (com animais, adoções e doações)
+-- não é decisão de migração: a migração para com a lista dos e-mails, que precisam ser resolvidos à mão.
+DO $$
+DECLARE
+    duplicated TEXT;
+BEGIN
+    SELECT string_agg(email || ' (' || total || ')', ', ' ORDER BY email) INTO duplicated
+    FROM (SELECT email, count(*) AS total FROM users WHERE email IS NOT NULL GROUP BY email HAVING count(*) > 1) d;
+    IF duplicated IS NOT NULL AND NOT EXISTS (SELECT 1 FROM pg_class WHERE relname = 'uk_users_email') THEN
+        RAISE EXCEPTION 'Não é possível criar o índice único uk_users_email: e-mails repetidos em users: %', duplicated
+            USING HINT = 'Mescle ou altere as contas repetidas e rode a aplicação de novo.';
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
+
+-- UserRepository.findAllByUserType (diretório de ONGs)
+CREATE INDEX IF NOT EXISTS idx_users_user_type ON users (user_type);
+
+-- AnimalRepository.findByOngAndCategoryAndStatus(After) e as listagens por ONG; cobre também a FK ong_id
+CREATE INDEX IF NOT EXISTS idx_animals_ong_category_status ON animals (ong_id, category, status);
+
+-- Doações de um doador em ordem cronológica
+CREATE INDEX IF NOT EXISTS idx_donations_user_id_date ON donations (user_id, donation_date);
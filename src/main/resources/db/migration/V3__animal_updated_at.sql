@@ -0,0 +1,2 @@
+-- Data da última alteração do animal, usada no Last-Modified de GET /animal/{id}
+ALTER TABLE animals ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT now() NOT NULL;
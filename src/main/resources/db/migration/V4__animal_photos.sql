@@ -0,0 +1,17 @@
+-- Fotos dos animais: o arquivo fica no disco com o SHA-256 do conteúdo como nome, a linha só o referencia.
+-- A mesma imagem enviada duas vezes para o mesmo animal é uma linha só; entre animais, o arquivo é compartilhado.
+CREATE TABLE IF NOT EXISTS animal_photos (
+    id         VARCHAR(255) NOT NULL,
+    animal_id  VARCHAR(255) NOT NULL REFERENCES animals (id) ON DELETE CASCADE,
+    hash       VARCHAR(64) NOT NULL,
+    format     VARCHAR(16) NOT NULL CHECK (format IN ('JPEG', 'PNG', 'GIF')),
+    size       BIGINT NOT NULL,
+    width      INTEGER NOT NULL,
+    height     INTEGER NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT now() NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_animal_photos_animal_hash UNIQUE (animal_id, hash)
+);
+
+-- Coleta de arquivos órfãos: "o hash ainda é usado por alguma foto?"
+CREATE INDEX IF NOT EXISTS idx_animal_photos_hash ON animal_photos (hash);
@@ -0,0 +1,13 @@
+-- Doações aceitas (202) que não puderam ser gravadas, por exemplo doador removido antes da gravação.
+-- Sem chave estrangeira nem precisão fixa: a linha precisa caber aqui justamente quando não coube em donations.
+CREATE TABLE IF NOT EXISTS donation_dead_letters (
+    id              VARCHAR(255) NOT NULL,
+    user_id         VARCHAR(255) NOT NULL,
+    amount          NUMERIC,
+    payment_method  VARCHAR(255),
+    donation_date   TIMESTAMP(6),
+    idempotency_key VARCHAR(255),
+    error           TEXT NOT NULL,
+    failed_at       TIMESTAMP(6) WITH TIME ZONE DEFAULT now() NOT NULL,
+    PRIMARY KEY (id)
+);
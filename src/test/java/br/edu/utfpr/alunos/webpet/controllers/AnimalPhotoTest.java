@@ -0,0 +1,157 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalPhotoDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalPhotoRepository;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.services.AnimalPhotoService;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "webpet.photos.directory=target/test-photos")
+@AutoConfigureMockMvc
+class AnimalPhotoTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AnimalPhotoService animalPhotoService;
+    @Autowired
+    private AnimalPhotoRepository animalPhotoRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private TestUsers users;
+    private User ong;
+    private Animal animal;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        ong = users.create("animal-photo", "ONG das fotos", UserType.JURIDICO);
+        animal = new Animal();
+        animal.setName("Animal fotografado");
+        animal.setCategory(CategoryType.CAT);
+        animal.setStatus(StatusType.AVAILABLE);
+        animal.setOng(ong);
+        animal = animalRepository.save(animal);
+        TestUsers.authenticate(ong);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        // As fotos saem junto com o animal (ON DELETE CASCADE)
+        animalRepository.deleteById(animal.getId());
+        users.deleteAll();
+    }
+
+    @Test
+    void sameImageIsStoredOnceAndServedWithRangesAndThumbnails() throws Exception {
+        byte[] png = png(1600, 900);
+        AnimalPhotoDTO first = upload(png);
+        AnimalPhotoDTO second = upload(png);
+
+        assertThat(second.id()).isEqualTo(first.id());
+        assertThat(animalPhotoRepository.findByAnimalIdOrderByCreatedAt(animal.getId())).hasSize(1);
+        assertThat(first.size()).isEqualTo(png.length);
+        assertThat(first.width()).isEqualTo(1600);
+        assertThat(first.height()).isEqualTo(900);
+
+        MockHttpServletResponse full = mockMvc.perform(get(first.url()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + first.hash() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andReturn().getResponse();
+        assertThat(full.getContentAsByteArray()).isEqualTo(png);
+
+        mockMvc.perform(get(first.url()).header(HttpHeaders.IF_NONE_MATCH, "\"" + first.hash() + "\""))
+                .andExpect(status().isNotModified());
+
+        MockHttpServletResponse partial = mockMvc.perform(get(first.url()).header(HttpHeaders.RANGE, "bytes=10-99"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-99/" + png.length))
+                .andReturn().getResponse();
+        assertThat(partial.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(png, 10, 100));
+
+        mockMvc.perform(get(first.url()).header(HttpHeaders.RANGE, "bytes=" + png.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + png.length));
+
+        // A miniatura é gerada em segundo plano; até lá o original responde sem cache longo
+        String thumbnail = first.thumbnails().get(320);
+        long deadline = System.currentTimeMillis() + 10_000;
+        MockHttpServletResponse response;
+        do {
+            response = mockMvc.perform(get(thumbnail)).andExpect(status().isOk()).andReturn().getResponse();
+            if (!response.getHeader(HttpHeaders.ETAG).endsWith("-pending\"")) {
+                break;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < deadline);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + first.hash() + "-320\"");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        BufferedImage scaled = ImageIO.read(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertThat(scaled.getWidth()).isEqualTo(320);
+        assertThat(scaled.getHeight()).isEqualTo(180);
+
+        mockMvc.perform(get("/photos/thumbnails/77/{hash}.jpg", first.hash())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void nonImageBodyIsRejected() {
+        byte[] text = "não sou uma imagem".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> animalPhotoService.upload(animal.getId(), text.length, new ByteArrayInputStream(text)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        assertThat(animalPhotoRepository.findByAnimalIdOrderByCreatedAt(animal.getId())).isEmpty();
+    }
+
+    private AnimalPhotoDTO upload(byte[] content) throws Exception {
+        return animalPhotoService.upload(animal.getId(), content.length, new ByteArrayInputStream(content))
+                .getBody().data();
+    }
+
+    // Pixels aleatórios: cada execução gera um arquivo novo no diretório de teste
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int y = 0; y < height; y += 10) {
+            image.setRGB(0, y, width, 1, random.ints(width).toArray(), 0, width);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,141 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.infra.security.PasswordHashingExecutor;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Executor de hash com uma thread e fila de uma posição: fácil de encher no teste de 503
+@SpringBootTest(properties = {
+        "api.security.password-hashing.threads=1",
+        "api.security.password-hashing.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class AuthControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TestUsers users;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.deleteAll();
+    }
+
+    @Test
+    void legacyPasswordsAreRehashedOnSuccessfulLogin() throws Exception {
+        for (String legacy : List.of("senha-antiga", new BCryptPasswordEncoder(4).encode("senha-antiga"))) {
+            User user = user(legacy);
+
+            login(user.getEmail(), "senha-antiga")
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true));
+
+            String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+            assertThat(stored).startsWith("{bcrypt}");
+            assertThat(passwordEncoder.matches("senha-antiga", stored)).isTrue();
+        }
+    }
+
+    @Test
+    void wrongPasswordKeepsTheLegacyHash() throws Exception {
+        User user = user("senha-antiga");
+
+        login(user.getEmail(), "outra-senha")
+                .andExpect(jsonPath("$.success").value(false));
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo("senha-antiga");
+    }
+
+    @Test
+    void fullHashingQueueAnswers503() throws Exception {
+        User user = user("senha-antiga");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Uma tarefa ocupa a única thread e outra a única posição da fila
+        List<CompletableFuture<Boolean>> blockers = List.of(
+                CompletableFuture.supplyAsync(() -> passwordHashingExecutor.run(() -> {
+                    running.countDown();
+                    return release.await(10, TimeUnit.SECONDS);
+                })),
+                CompletableFuture.supplyAsync(() -> {
+                    try {
+                        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return passwordHashingExecutor.run(() -> release.await(10, TimeUnit.SECONDS));
+                }));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (queued() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(queued()).isEqualTo(1);
+
+            login(user.getEmail(), "senha-antiga")
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Boolean> blocker : blockers) {
+            assertThat(blocker.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // Com a fila livre o mesmo login passa
+        login(user.getEmail(), "senha-antiga").andExpect(status().isOk());
+    }
+
+    private double queued() {
+        return meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value();
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private User user(String password) {
+        return users.create("auth", "Login legado", UserType.FISICO, password);
+    }
+}
@@ -0,0 +1,137 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.QueryBudget;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private TestUsers users;
+    private Animal animal;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        User ong = ong();
+        animal = new Animal();
+        animal.setName("Animal condicional");
+        animal.setCategory(CategoryType.DOG);
+        animal.setStatus(StatusType.AVAILABLE);
+        animal.setOng(ong);
+        animal = animalRepository.save(animal);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        animalRepository.deleteById(animal.getId());
+        users.deleteAll();
+    }
+
+    @Test
+    void unchangedAnimalReturns304WithoutQueries() throws Exception {
+        String etag = mockMvc.perform(get("/animal/{id}", animal.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        QueryBudget.assertAtMost(0, () -> mockMvc.perform(get("/animal/{id}", animal.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+
+        animal.setName("Animal condicional alterado");
+        animal = animalRepository.save(animal);
+
+        mockMvc.perform(get("/animal/{id}", animal.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ongDirectoryEtagChangesWhenAnOngRegisters() throws Exception {
+        String etag = mockMvc.perform(get("/user/ongs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/user/ongs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        User registered = ong();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/user/ongs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(response.getContentAsString()).contains(registered.getEmail()).doesNotContain("password");
+    }
+
+    @Test
+    void ongDirectoryEtagChangesWhenAnOngStopsBeingJuridico() throws Exception {
+        User registered = ong();
+        String etag = mockMvc.perform(get("/user/ongs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        registered.setUserType(UserType.FISICO);
+        userRepository.save(registered);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/user/ongs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getContentAsString()).doesNotContain(registered.getEmail());
+    }
+
+    @Test
+    void ongDirectoryIsEncodedInTheNegotiatedFormat() throws Exception {
+        User registered = ong();
+
+        MockHttpServletResponse json = mockMvc.perform(get("/user/ongs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        MockHttpServletResponse cbor = mockMvc.perform(get("/user/ongs").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse();
+
+        JsonNode decoded = new CBORMapper().readTree(cbor.getContentAsByteArray());
+        assertThat(decoded.toString()).contains(registered.getEmail());
+        assertThat(cbor.getContentAsByteArray()).isNotEqualTo(json.getContentAsByteArray());
+        assertThat(cbor.getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/user/ongs").accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, cbor.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    private User ong() {
+        return users.create("conditional-get", "ONG condicional", UserType.JURIDICO);
+    }
+}
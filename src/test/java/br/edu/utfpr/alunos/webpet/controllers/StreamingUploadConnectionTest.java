@@ -0,0 +1,196 @@
+package br.edu.utfpr.alunos.webpet.controllers;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.infra.security.TokenService;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uploads lidos em streaming não podem segurar conexão do pool enquanto o cliente ainda está enviando o corpo
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "webpet.photos.directory=target/test-photos",
+        "webpet.animal-import.batch-size=2"
+})
+class StreamingUploadConnectionTest {
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TestUsers users;
+    private User ong;
+    private Animal animal;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        ong = users.create("streaming-upload", "ONG do upload lento", UserType.JURIDICO);
+        animal = new Animal();
+        animal.setName("Animal do upload lento");
+        animal.setCategory(CategoryType.DOG);
+        animal.setStatus(StatusType.AVAILABLE);
+        animal.setOng(ong);
+        animal = animalRepository.save(animal);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        animalRepository.deleteAll(animalRepository.findByOng(ong));
+        users.deleteAll();
+    }
+
+    @Test
+    void slowPhotoUploadHoldsNoConnection() throws Exception {
+        byte[] png = png();
+        Instant start = Instant.now();
+        // A permissão é conferida no banco antes de o arquivo temporário ser criado
+        assertNoConnectionWhileStalled("/animal/" + animal.getId() + "/photos", "image/png", png, 100_000,
+                () -> receivingUpload(start));
+    }
+
+    @Test
+    void slowImportHoldsNoConnectionBetweenBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("name,category\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("Lento ").append(i).append(",CAT\n");
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+        // Para no meio do arquivo, depois de alguns lotes de 2 linhas já gravados
+        assertNoConnectionWhileStalled("/animal/import", "text/csv", body, body.length / 2,
+                () -> animalRepository.findByOng(ong).size() > 1);
+        assertThat(animalRepository.findByOng(ong)).hasSize(21);
+    }
+
+    // `serverReachedDatabase` indica que a requisição já passou pelo banco: antes disso o pool livre não prova nada
+    private void assertNoConnectionWhileStalled(String path, String contentType, byte[] body, int stallAt,
+                                                BooleanSupplier serverReachedDatabase) throws Exception {
+        StallingInputStream stream = new StallingInputStream(body, stallAt);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + tokenService.generateToken(ong))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> stream))
+                .build();
+        CompletableFuture<HttpResponse<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(stream.stalled.await(10, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!serverReachedDatabase.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        // O servidor ainda pode estar gravando o último lote (ou uma tarefa agendada pode estar no banco):
+        // com o cliente parado, o pool tem que ficar livre em algum momento. Com Open Session in View não fica.
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        int active = pool.getActiveConnections();
+        while (active > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            active = pool.getActiveConnections();
+        }
+        stream.resume.countDown();
+
+        assertThat(response.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        assertThat(active).isZero();
+    }
+
+    private static boolean receivingUpload(Instant since) {
+        try (Stream<Path> files = Files.list(Path.of("target/test-photos/tmp"))) {
+            return files.anyMatch(file -> file.getFileName().toString().startsWith("upload-")
+                    && file.toFile().length() > 0 && file.toFile().lastModified() >= since.toEpochMilli());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int y = 0; y < 400; y++) {
+            image.setRGB(0, y, 400, 1, random.ints(400).toArray(), 0, 400);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // Entrega o corpo até `stallAt` e espera o teste liberar o restante, como um cliente em rede lenta
+    private static final class StallingInputStream extends InputStream {
+        private final ByteArrayInputStream content;
+        private final int stallAt;
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+        private int position;
+
+        private StallingInputStream(byte[] content, int stallAt) {
+            this.content = new ByteArrayInputStream(content);
+            this.stallAt = stallAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position == stallAt) {
+                stalled.countDown();
+                try {
+                    resume.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            int limit = position < stallAt ? Math.min(length, stallAt - position) : length;
+            int read = content.read(buffer, offset, limit);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
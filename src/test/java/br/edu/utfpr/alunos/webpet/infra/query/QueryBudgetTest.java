@@ -0,0 +1,90 @@
+package br.edu.utfpr.alunos.webpet.infra.query;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.QueryBudget;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+    private static final int ONGS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestUsers users;
+    private final List<Animal> animals = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        for (int i = 0; i < ONGS; i++) {
+            User ong = users.create("query-budget", "ONG orçamento " + i, UserType.JURIDICO);
+
+            Animal animal = new Animal();
+            animal.setName("Animal orçamento " + i);
+            animal.setCategory(CategoryType.DOG);
+            animal.setStatus(StatusType.AVAILABLE);
+            animal.setOng(ong);
+            animals.add(animalRepository.save(animal));
+        }
+        // Sem cache de segundo nível, toda leitura vai ao banco e aparece na contagem
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        animalRepository.deleteAll(animals);
+        users.deleteAll();
+    }
+
+    @Test
+    void animalDetailIssuesOneQuery() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/animal/{id}", animals.get(0).getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void lazyOngPerAnimalIsReportedAsRepeatedStatement() throws Exception {
+        List<String> ids = animals.stream().map(Animal::getId).toList();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        QueryStatistics statistics = QueryBudget.measure(() -> transaction.executeWithoutResult(status ->
+                animalRepository.findAllById(ids).forEach(animal -> animal.getOng().getName())));
+
+        // 1 SELECT dos animais + 1 SELECT por ONG
+        assertThat(statistics.count()).isEqualTo(1 + ONGS);
+        assertThat(statistics.repeatedStatements(ONGS)).hasSize(1);
+    }
+}
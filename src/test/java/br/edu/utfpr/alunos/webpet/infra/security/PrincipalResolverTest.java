@@ -0,0 +1,111 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.QueryBudget;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O UserChangeListener marca a alteração; o resolver só volta ao banco para tokens emitidos antes dela
+@SpringBootTest
+class PrincipalResolverTest {
+    @Autowired
+    private PrincipalResolver principalResolver;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestUsers users;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        user = users.create("principal", "Nome no token", UserType.FISICO);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.deleteAll();
+    }
+
+    @Test
+    void unchangedUserIsResolvedFromClaimsWithoutQueries() throws Exception {
+        DecodedJWT token = issuedAt(Instant.now().minus(Duration.ofMinutes(1)));
+
+        User[] resolved = new User[1];
+        QueryBudget.assertAtMost(0, () -> resolved[0] = principalResolver.resolve(token));
+        assertThat(resolved[0].getId()).isEqualTo(user.getId());
+        assertThat(resolved[0].getName()).isEqualTo("Nome no token");
+    }
+
+    @Test
+    void userChangedAfterTheTokenWasIssuedIsReloaded() throws Exception {
+        DecodedJWT token = issuedAt(Instant.now().minus(Duration.ofMinutes(1)));
+        user.setName("Nome alterado");
+        user = userRepository.save(user);
+
+        User[] resolved = new User[1];
+        assertThat(QueryBudget.measure(() -> resolved[0] = principalResolver.resolve(token)).count()).isPositive();
+        assertThat(resolved[0].getName()).isEqualTo("Nome alterado");
+
+        // A segunda requisição com o mesmo token usa o cache de principals
+        QueryBudget.assertAtMost(0, () -> principalResolver.resolve(token));
+    }
+
+    @Test
+    void principalLoadedBetweenFlushAndCommitIsDroppedAfterTheCommit() throws Exception {
+        DecodedJWT token = issuedAt(Instant.now().minus(Duration.ofMinutes(1)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            user.setName("Nome alterado");
+            userRepository.saveAndFlush(user);
+            // Outra requisição antes do commit: lê a linha ainda não alterada e a põe no cache
+            User stale = CompletableFuture.supplyAsync(() -> principalResolver.resolve(token)).orTimeout(10, TimeUnit.SECONDS).join();
+            assertThat(stale.getName()).isEqualTo("Nome no token");
+        });
+
+        assertThat(principalResolver.resolve(token).getName()).isEqualTo("Nome alterado");
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAsTheChangeKeepsUsingClaims() throws Exception {
+        // Como no login que regrava a senha legada: @PostUpdate e, logo depois, o token novo
+        user.setPassword("{bcrypt}regravada");
+        user = userRepository.save(user);
+        DecodedJWT token = tokenService.verify(tokenService.generateToken(user));
+
+        QueryBudget.assertAtMost(0, () -> principalResolver.resolve(token));
+    }
+
+    private DecodedJWT issuedAt(Instant issuedAt) {
+        return JWT.decode(JWT.create()
+                .withIssuer("webpet")
+                .withSubject(user.getEmail())
+                .withIssuedAt(issuedAt)
+                .withClaim(TokenService.CLAIM_ID, user.getId())
+                .withClaim(TokenService.CLAIM_NAME, user.getName())
+                .withClaim(TokenService.CLAIM_USER_TYPE, user.getUserType().name())
+                .sign(Algorithm.HMAC256("segredo-de-teste")));
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.utfpr.alunos.webpet.infra.security;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cache de tokens verificados: o HMAC roda uma vez por token, tokens inválidos nunca entram no cache
+class TokenServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenService tokenService = new TokenService("segredo-de-teste", 100, meterRegistry);
+
+    @Test
+    void verifiedTokenIsServedFromTheCache() {
+        String token = tokenService.generateToken(user());
+
+        DecodedJWT first = tokenService.verify(token);
+        DecodedJWT second = tokenService.verify(token);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat(verifications("valid")).isEqualTo(1);
+        assertThat(verifications("cached")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidTokenIsRejectedEveryTime() {
+        String token = tokenService.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = new TokenService("outro-segredo", 100, new SimpleMeterRegistry()).generateToken(user());
+
+        assertThat(tokenService.verify(tampered)).isNull();
+        assertThat(tokenService.verify(tampered)).isNull();
+        assertThat(tokenService.verify(foreign)).isNull();
+        assertThat(verifications("invalid")).isEqualTo(3);
+        assertThat(verifications("cached")).isZero();
+    }
+
+    private long verifications(String result) {
+        return meterRegistry.get("security.token").tag("operation", "verify").tag("result", result).timer().count();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId("user-id");
+        user.setEmail("token@webpet.local");
+        user.setName("Token");
+        user.setUserType(UserType.FISICO);
+        return user;
+    }
+}
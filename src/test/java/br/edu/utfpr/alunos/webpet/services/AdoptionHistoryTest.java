@@ -0,0 +1,136 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AdoptionHistoryDTO;
+import br.edu.utfpr.alunos.webpet.dto.AdoptionHistoryPageDTO;
+import br.edu.utfpr.alunos.webpet.dto.ResponseDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AdoptionRepository;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.QueryBudget;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AdoptionHistoryTest {
+    private static final int ONGS = 4;
+
+    @Autowired
+    private AdoptionService adoptionService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestUsers users;
+    private final List<Animal> animals = new ArrayList<>();
+    private final List<Adoption> adoptions = new ArrayList<>();
+    private User adopter;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        adopter = user(UserType.FISICO);
+        // Um animal adotado em cada ONG: sem JOIN FETCH seria 1 SELECT de ONG por linha
+        for (int i = 0; i < ONGS; i++) {
+            User ong = user(UserType.JURIDICO);
+            Animal animal = new Animal();
+            animal.setName("Animal histórico " + i);
+            animal.setCategory(CategoryType.CAT);
+            animal.setStatus(StatusType.ADOPTED);
+            animal.setOng(ong);
+            animals.add(animalRepository.save(animal));
+
+            Adoption adoption = new Adoption();
+            adoption.setAnimal(animal);
+            adoption.setAdopter(adopter);
+            adoption.setAdoptionDate(LocalDateTime.now().minusDays(i));
+            adoptions.add(adoptionRepository.save(adoption));
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        adoptionRepository.deleteAll(adoptions);
+        animalRepository.deleteAll(animals);
+        users.deleteAll();
+    }
+
+    @Test
+    void myAdoptionsLoadAnimalOngAndAdopterInOnePageQuery() throws Exception {
+        TestUsers.authenticate(adopter);
+        AtomicReference<ResponseEntity<ResponseDTO<AdoptionHistoryPageDTO>>> response = new AtomicReference<>();
+
+        // SELECT da página + SELECT COUNT
+        QueryBudget.assertAtMost(2, () -> response.set(adoptionService.getMyAdoptions(0, 10)));
+
+        AdoptionHistoryPageDTO data = response.get().getBody().data();
+        List<AdoptionHistoryDTO> page = data.adoptions();
+        assertThat(data.totalElements()).isEqualTo(ONGS);
+        assertThat(page).extracting(AdoptionHistoryDTO::id)
+                .containsExactlyElementsOf(adoptions.stream().map(Adoption::getId).toList());
+        assertThat(page).allSatisfy(entry -> assertThat(entry.ong().name()).startsWith("Histórico"));
+    }
+
+    @Test
+    void ongAdoptionsOnlyListOwnAnimals() {
+        User ong = animals.get(0).getOng();
+        TestUsers.authenticate(ong);
+
+        AdoptionHistoryPageDTO data = adoptionService.getOngAdoptions(0, 10).getBody().data();
+        List<AdoptionHistoryDTO> page = data.adoptions();
+        assertThat(page).extracting(AdoptionHistoryDTO::id).containsExactly(adoptions.get(0).getId());
+        assertThat(page.get(0).adopter().id()).isEqualTo(adopter.getId());
+    }
+
+    @Test
+    void adoptionsAtTheSameInstantArePagedInAStableOrder() {
+        LocalDateTime sameInstant = LocalDateTime.now().withNano(0);
+        adoptions.replaceAll(adoption -> {
+            adoption.setAdoptionDate(sameInstant);
+            return adoptionRepository.save(adoption);
+        });
+        TestUsers.authenticate(adopter);
+
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page < ONGS; page++) {
+            paged.addAll(adoptionService.getMyAdoptions(page, 1).getBody().data().adoptions().stream()
+                    .map(AdoptionHistoryDTO::id)
+                    .toList());
+        }
+        assertThat(paged).containsExactlyElementsOf(adoptions.stream()
+                .map(Adoption::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList());
+    }
+
+    private User user(UserType type) {
+        return users.create("adoption-history", "Histórico " + type, type);
+    }
+}
@@ -0,0 +1,130 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.AdoptionRepository;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Várias threads tentam adotar o mesmo animal ao mesmo tempo: exatamente uma vence, as demais recebem 409
+@SpringBootTest
+class AnimalAdoptionConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    private TestUsers users;
+    private final List<Animal> animals = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        List<String> animalIds = animals.stream().map(Animal::getId).toList();
+        List<Adoption> adoptions = adoptionRepository.findAll().stream()
+                .filter(adoption -> animalIds.contains(adoption.getAnimal().getId()))
+                .toList();
+        adoptionRepository.deleteAll(adoptions);
+        animalRepository.deleteAllById(animalIds);
+        users.deleteAll();
+    }
+
+    @Test
+    void onlyOneConcurrentAdoptionWins() throws Exception {
+        User ong = users.create("adoption", "Concorrência ONG", UserType.JURIDICO);
+        List<User> adopters = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            adopters.add(users.create("adoption", "Concorrência adotante", UserType.FISICO));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Animal animal = saveAnimal(ong);
+                AtomicInteger adopted = new AtomicInteger();
+                AtomicInteger conflicts = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> attempts = new ArrayList<>();
+                for (User adopter : adopters) {
+                    attempts.add(executor.submit(() -> {
+                        TestUsers.authenticate(adopter);
+                        try {
+                            start.await();
+                            animalService.adoptAnimal(animal.getId());
+                            adopted.incrementAndGet();
+                        } catch (ResponseStatusException e) {
+                            if (e.getStatusCode() != HttpStatus.CONFLICT) {
+                                throw e;
+                            }
+                            conflicts.incrementAndGet();
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                        }
+                        return null;
+                    }));
+                }
+
+                start.countDown();
+                for (Future<?> attempt : attempts) {
+                    attempt.get(30, TimeUnit.SECONDS);
+                }
+
+                assertThat(adopted.get()).isEqualTo(1);
+                assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+                assertThat(adoptionRepository.countByAnimalId(animal.getId())).isEqualTo(1);
+                Animal stored = animalRepository.findById(animal.getId()).orElseThrow();
+                assertThat(stored.getStatus()).isEqualTo(StatusType.ADOPTED);
+                assertThat(stored.getVersion()).isEqualTo(1L);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Animal saveAnimal(User ong) {
+        Animal animal = new Animal();
+        animal.setName("Disputado");
+        animal.setDescription("Animal disputado por várias adoções simultâneas");
+        animal.setCategory(CategoryType.values()[0]);
+        animal.setStatus(StatusType.AVAILABLE);
+        animal.setOng(ong);
+        animal = animalRepository.save(animal);
+        animals.add(animal);
+        return animal;
+    }
+}
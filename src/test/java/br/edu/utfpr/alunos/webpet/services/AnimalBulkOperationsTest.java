@@ -0,0 +1,160 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Adoption;
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalBulkUpdateDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalSelectionDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AdoptionRepository;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AnimalBulkOperationsTest {
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private AnimalStatsService animalStatsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestUsers users;
+    private final List<Animal> animals = new ArrayList<>();
+    private Adoption adoption;
+    private User ong;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        ong = users.create("animal-bulk", "ONG em massa", UserType.JURIDICO);
+        User otherOng = users.create("animal-bulk", "Outra ONG em massa", UserType.JURIDICO);
+        for (int i = 0; i < 4; i++) {
+            animal(ong, i % 2 == 0 ? CategoryType.DOG : CategoryType.CAT);
+        }
+        // Mesma categoria em outra ONG: nenhuma operação pode alcançá-lo
+        animal(otherOng, CategoryType.DOG);
+        // Os animais foram gravados direto pelo repositório, sem eventos: recarrega os contadores
+        animalStatsService.reconcile();
+        TestUsers.authenticate(ong);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        if (adoption != null) {
+            adoptionRepository.delete(adoption);
+        }
+        animalRepository.deleteAll(users.created().stream().flatMap(user -> animalRepository.findByOng(user).stream()).toList());
+        users.deleteAll();
+    }
+
+    @Test
+    void bulkUpdateChangesOnlyTheOngsMatchingAnimals() {
+        int affected = animalService.bulkUpdate(new AnimalBulkUpdateDTO(
+                new AnimalSelectionDTO(null, CategoryType.DOG, null), null, StatusType.ADOPTED)).getBody().data().affected();
+        assertThat(affected).isEqualTo(2);
+
+        // Repetir não altera nada: os animais já estão com o status pedido
+        affected = animalService.bulkUpdate(new AnimalBulkUpdateDTO(
+                new AnimalSelectionDTO(List.of(animals.get(0).getId(), animals.get(4).getId()), null, null),
+                null, StatusType.ADOPTED)).getBody().data().affected();
+        assertThat(affected).isZero();
+
+        assertThat(animalRepository.findById(animals.get(0).getId()).orElseThrow().getStatus()).isEqualTo(StatusType.ADOPTED);
+        assertThat(animalRepository.findById(animals.get(0).getId()).orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(animalRepository.findById(animals.get(4).getId()).orElseThrow().getStatus()).isEqualTo(StatusType.AVAILABLE);
+        assertThat(byStatus()).containsEntry(StatusType.ADOPTED, 2L).containsEntry(StatusType.AVAILABLE, 2L);
+    }
+
+    @Test
+    void bulkDeleteKeepsAnimalsWithAdoptions() {
+        adoption = new Adoption();
+        adoption.setAnimal(animals.get(1));
+        adoption.setAdopter(users.create("animal-bulk", "Adotante em massa", UserType.FISICO));
+        adoption.setAdoptionDate(LocalDateTime.now());
+        adoption = adoptionRepository.save(adoption);
+
+        int affected = animalService.bulkDelete(new AnimalSelectionDTO(
+                animals.stream().map(Animal::getId).toList(), null, StatusType.AVAILABLE)).getBody().data().affected();
+
+        assertThat(affected).isEqualTo(3);
+        assertThat(animalRepository.findByOng(ong)).extracting(Animal::getId).containsExactly(animals.get(1).getId());
+        assertThat(animalRepository.existsById(animals.get(4).getId())).isTrue();
+        assertThat(byStatus()).containsEntry(StatusType.AVAILABLE, 1L);
+    }
+
+    @Test
+    void reconcileBetweenACommitAndItsEventDoesNotCountTheAnimalTwice() throws Exception {
+        CompletableFuture<Void> reconcile = new CompletableFuture<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            animalService.createAnimal(new AnimalDTO(null, "Animal do commit", null, CategoryType.DOG, StatusType.AVAILABLE));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // A recontagem começa depois do commit e antes de o evento chegar aos contadores
+                    CompletableFuture.runAsync(animalStatsService::reconcile).whenComplete((ok, error) -> {
+                        if (error != null) {
+                            reconcile.completeExceptionally(error);
+                        } else {
+                            reconcile.complete(null);
+                        }
+                    });
+                    try {
+                        reconcile.get(500, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // Esperado: a recontagem aguarda o evento desta transação ser aplicado
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        });
+        reconcile.get(10, TimeUnit.SECONDS);
+
+        assertThat(byStatus()).containsEntry(StatusType.AVAILABLE, 5L);
+    }
+
+    private Map<StatusType, Long> byStatus() {
+        return animalStatsService.getStats(ong.getId()).getBody().data().byStatus();
+    }
+
+    private void animal(User owner, CategoryType category) {
+        Animal animal = new Animal();
+        animal.setName("Animal em massa");
+        animal.setCategory(category);
+        animal.setStatus(StatusType.AVAILABLE);
+        animal.setOng(owner);
+        animals.add(animalRepository.save(animal));
+    }
+}
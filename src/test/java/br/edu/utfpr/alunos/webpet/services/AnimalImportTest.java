@@ -0,0 +1,111 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalImportReportDTO;
+import br.edu.utfpr.alunos.webpet.dto.AnimalImportReportDTO.RowError;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AnimalImportTest {
+    @Autowired
+    private AnimalImportService animalImportService;
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private TestUsers users;
+    private User ong;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        ong = users.create("animal-import", "ONG importadora", UserType.JURIDICO);
+        TestUsers.authenticate(ong);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        animalRepository.deleteAll(animalRepository.findByOng(ong));
+        users.deleteAll();
+    }
+
+    @Test
+    void csvImportInsertsValidRowsAndReportsInvalidOnes() throws Exception {
+        String csv = """
+                name,category,description,status
+                Thor,dog,"dócil, vacinado",
+                Mia,CAT,,ADOPTED
+                ,DOG,sem nome,
+                Bidu,DINOSSAURO,,
+                Luna,BIRD,"canta, ""bem"" alto",AVAILABLE
+                """;
+
+        AnimalImportReportDTO report = importBody("text/csv", csv);
+
+        assertThat(report.received()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(RowError::line).containsExactly(4L, 5L);
+
+        List<Animal> animals = animalRepository.findByOng(ong);
+        assertThat(animals).extracting(Animal::getName).containsExactlyInAnyOrder("Thor", "Mia", "Luna");
+        Animal thor = animals.stream().filter(animal -> animal.getName().equals("Thor")).findFirst().orElseThrow();
+        assertThat(thor.getDescription()).isEqualTo("dócil, vacinado");
+        assertThat(thor.getCategory()).isEqualTo(CategoryType.DOG);
+        assertThat(thor.getStatus()).isEqualTo(StatusType.AVAILABLE);
+
+        // O cache de consultas da listagem não pode devolver o resultado anterior à importação
+        assertThat(animalService.getAll(null, null, PageRequest.of(0, 10))
+                .getBody().data().totalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void ndjsonImportRejectsMalformedLinesAndKeepsGoing() throws Exception {
+        animalService.getAll(null, null, PageRequest.of(0, 10));
+        String ndjson = """
+                {"name":"Pipoca","category":"RODENT"}
+                {"name":"Amora","category":
+                {"name":"Zeca","category":"REPTILE","status":"PERDIDO"}
+                {"name":"Rex","category":"DOG","status":"AVAILABLE","description":"calmo"}
+                """;
+
+        AnimalImportReportDTO report = importBody(MediaType.APPLICATION_NDJSON_VALUE, ndjson);
+
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).extracting(RowError::line).containsExactly(2L, 3L);
+        assertThat(animalRepository.findByOng(ong)).extracting(Animal::getName).containsExactlyInAnyOrder("Pipoca", "Rex");
+        assertThat(animalService.getAll(null, null, PageRequest.of(0, 10))
+                .getBody().data().totalElements()).isEqualTo(2);
+    }
+
+    private AnimalImportReportDTO importBody(String contentType, String body) throws Exception {
+        return animalImportService.importAnimals(MediaType.parseMediaType(contentType),
+                        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+                .getBody().data();
+    }
+}
@@ -0,0 +1,125 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compara a leitura por entidades gerenciadas com a projeção em AnimalDTO em transação read-only.
+// Rodar com: ./mvnw test -Dtest=AnimalReadPathBenchmarkTest -Dbenchmarks=true
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_query_cache=false")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AnimalReadPathBenchmarkTest {
+    private static final int ANIMALS = 2_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP = 100;
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestUsers users;
+    private User ong;
+    private List<Animal> animals = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        animalRepository.deleteAll(animals);
+        users.deleteAll();
+    }
+
+    @Test
+    void compareEntityAndProjectionReadPaths() {
+        seed();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<AnimalDTO>> entityPath = () -> readWrite.execute(status -> entityManager
+                .createQuery("SELECT a FROM Animal a WHERE a.ong = :ong ORDER BY a.id", Animal.class)
+                .setParameter("ong", ong)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(AnimalDTO::from)
+                .toList());
+        Supplier<List<AnimalDTO>> projectionPath = () -> readOnly.execute(status -> animalRepository
+                .findByOngAndCategoryAndStatusAfter(ong, null, null, null, PageRequest.ofSize(PAGE_SIZE))
+                .getContent());
+
+        assertThat(projectionPath.get()).isEqualTo(entityPath.get());
+
+        Measurement entity = measure(entityPath);
+        Measurement projection = measure(projectionPath);
+        log.info("Leitura de {} animais: entidade {} us/op e {} bytes/op, projeção {} us/op e {} bytes/op", PAGE_SIZE,
+                String.format("%.1f", entity.micros()), entity.bytes(),
+                String.format("%.1f", projection.micros()), projection.bytes());
+    }
+
+    private void seed() {
+        ong = users.create("benchmark", "Benchmark ONG", UserType.JURIDICO);
+        for (int i = 0; i < ANIMALS; i++) {
+            Animal animal = new Animal();
+            animal.setName("Animal " + i);
+            animal.setDescription("Descrição do animal " + i);
+            animal.setCategory(CategoryType.values()[i % CategoryType.values().length]);
+            animal.setStatus(StatusType.AVAILABLE);
+            animal.setOng(ong);
+            animals.add(animal);
+        }
+        animals = animalRepository.saveAll(animals);
+    }
+
+    private static Measurement measure(Supplier<?> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Measurement(elapsed / 1_000.0 / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    private record Measurement(double micros, long bytes) {
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent;
+import br.edu.utfpr.alunos.webpet.domain.events.AnimalChangedEvent.AnimalSnapshot;
+import br.edu.utfpr.alunos.webpet.domain.user.Animal;
+import br.edu.utfpr.alunos.webpet.dto.AnimalDTO;
+import br.edu.utfpr.alunos.webpet.repositories.AnimalRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.CategoryType;
+import br.edu.utfpr.alunos.webpet.utils.enums.StatusType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Índice em memória sem Spring: documentos entram pelos mesmos eventos que a aplicação publica
+class AnimalSearchServiceTest {
+    private final AnimalRepository animalRepository = mock(AnimalRepository.class);
+    private final AnimalSearchService searchService = new AnimalSearchService(animalRepository);
+
+    @Test
+    void tokenizeFoldsAccentsDropsStopwordsAndSingularizes() {
+        assertThat(AnimalSearchService.tokenize("Os CÃES e os gatos são animais brincalhões!"))
+                .containsExactly("cao", "gato", "sao", "animal", "brincalhao");
+        assertThat(AnimalSearchService.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void termInTheNameOutranksRepeatedTermInTheDescription() {
+        index("1", "Bolinha", "gato preto");
+        index("2", "Preto", "gato");
+        index("3", "Mingau", "gato preto e preto");
+        index("4", "Tom", "gato cinza");
+
+        assertThat(ids("preto")).containsExactly("2", "3", "1");
+        assertThat(ids("gato preto")).containsExactly("2", "3", "1");
+    }
+
+    @Test
+    void prefixMatchesRankBelowExactMatches() {
+        index("1", "Gatoso", null);
+        index("2", "Gato", null);
+        index("3", "Cachorro", null);
+
+        assertThat(ids("gato")).containsExactly("2", "1");
+        assertThat(ids("gat")).containsExactlyInAnyOrder("1", "2");
+        assertThat(ids("cach")).containsExactly("3");
+    }
+
+    @Test
+    void negativePageOrSizeIsABadRequest() {
+        assertThatThrownBy(() -> searchService.search("gato", null, null, -1, 10))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> searchService.search("gato", null, null, 0, -5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void rebuildKeepsEventsThatArriveWhileTheDatabaseIsRead() {
+        Animal stored = new Animal();
+        stored.setId("1");
+        stored.setName("Rex");
+        stored.setCategory(CategoryType.DOG);
+        stored.setStatus(StatusType.AVAILABLE);
+        when(animalRepository.findAll()).thenAnswer(invocation -> {
+            // Commits que chegam depois da leitura começar: a consulta não os vê
+            searchService.onAnimalChanged(new AnimalChangedEvent(null, snapshot("2", "Thor", null)));
+            searchService.onAnimalChanged(new AnimalChangedEvent(
+                    AnimalSnapshot.of(stored), snapshot("1", "Rex Junior", null)));
+            return List.of(stored);
+        });
+
+        searchService.rebuild();
+
+        assertThat(ids("thor")).containsExactly("2");
+        assertThat(ids("junior")).containsExactly("1");
+    }
+
+    private void index(String id, String name, String description) {
+        searchService.onAnimalChanged(new AnimalChangedEvent(null, snapshot(id, name, description)));
+    }
+
+    private static AnimalSnapshot snapshot(String id, String name, String description) {
+        return new AnimalSnapshot(id, "ong", name, description, CategoryType.CAT, StatusType.AVAILABLE);
+    }
+
+    private List<String> ids(String query) {
+        return searchService.search(query, null, null, 0, 10).getBody().data().animals().stream()
+                .map(AnimalDTO::id)
+                .toList();
+    }
+}
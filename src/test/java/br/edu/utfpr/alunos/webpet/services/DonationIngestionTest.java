@@ -0,0 +1,253 @@
+package br.edu.utfpr.alunos.webpet.services;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.dto.DonationResponseDTO;
+import br.edu.utfpr.alunos.webpet.infra.exception.ServiceUnavailableException;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.services.DonationBatchWriter.PendingDonation;
+import br.edu.utfpr.alunos.webpet.support.TestUsers;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Doações repetidas com a mesma Idempotency-Key viram uma única linha (e uma única soma no razão),
+// mesmo chegando em paralelo
+@SpringBootTest(properties = {
+        "webpet.donation.ingestion.batch-size=50",
+        "webpet.donation.ingestion.linger=20ms"
+})
+@AutoConfigureMockMvc
+class DonationIngestionTest {
+    private static final int DONATIONS = 400;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private DonationLedgerService donationLedgerService;
+    @Autowired
+    private DonationBatchWriter donationBatchWriter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestUsers users;
+    private User donor;
+    private final String missingDonorId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(userRepository);
+        donor = users.create("donation", "Doador em lote", UserType.FISICO);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM donations WHERE user_id = ?", donor.getId());
+        jdbcTemplate.update("DELETE FROM donation_dead_letters WHERE user_id = ?", missingDonorId);
+        donationLedgerService.rebuild();
+        users.deleteAll();
+    }
+
+    @Test
+    void retriedDonationsAreWrittenOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<DonationResponseDTO>> responses = new ArrayList<>();
+        try {
+            // Cada chave é enviada duas vezes, simulando o retry do cliente
+            for (int i = 0; i < DONATIONS * 2; i++) {
+                String key = "campanha-" + (i % DONATIONS);
+                responses.add(executor.submit(() -> {
+                    TestUsers.authenticate(donor);
+                    try {
+                        return donationService.donate(BigDecimal.TEN, "PIX", key).getBody();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (Future<DonationResponseDTO> response : responses) {
+                assertThat(response.get(30, TimeUnit.SECONDS).id()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countDonations() < DONATIONS && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(200);
+        assertThat(countDonations()).isEqualTo(DONATIONS);
+        assertThat(responses.get(0).get().id()).isEqualTo(responses.get(DONATIONS).get().id());
+
+        // O razão soma só as linhas inseridas, então bate com a agregação completa
+        Map<?, ?> donorTotal = jdbcTemplate.queryForMap(
+                "SELECT total_amount, donation_count FROM donation_totals WHERE scope = 'DONOR' AND scope_key = ?",
+                donor.getId());
+        assertThat((BigDecimal) donorTotal.get("total_amount")).isEqualByComparingTo(BigDecimal.TEN.multiply(BigDecimal.valueOf(DONATIONS)));
+        assertThat(donorTotal.get("donation_count")).isEqualTo((long) DONATIONS);
+        assertThat(donationLedgerService.verify().consistent()).isTrue();
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseDoesNotDropTheRestOfTheBatch() throws Exception {
+        // O doador inexistente viola a chave estrangeira; as outras doações do mesmo lote precisam ser gravadas
+        for (int i = 0; i < 10; i++) {
+            if (i == 5) {
+                donationBatchWriter.submit(new PendingDonation(UUID.randomUUID().toString(), missingDonorId,
+                        BigDecimal.ONE, "PIX", LocalDateTime.now(), "sem-doador"));
+            }
+            donationBatchWriter.submit(new PendingDonation(UUID.randomUUID().toString(), donor.getId(),
+                    BigDecimal.ONE, "PIX", LocalDateTime.now(), "lote-" + i));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((countDonations() < 10 || countDeadLetters() < 1) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(countDonations()).isEqualTo(10);
+        assertThat(countDeadLetters()).isEqualTo(1);
+        assertThat(donationLedgerService.verify().consistent()).isTrue();
+    }
+
+    @Test
+    void ledgerMatchesTheDonationsAfterABatchAndAfterARebuild() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            donationBatchWriter.submit(new PendingDonation(UUID.randomUUID().toString(), donor.getId(),
+                    BigDecimal.valueOf(i + 1), i % 2 == 0 ? "PIX" : "CARTAO", LocalDateTime.now(), "soma-" + i));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countDonations() < 30 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(countDonations()).isEqualTo(30);
+        assertLedgerMatchesDonations();
+
+        // Razão corrompido por fora da aplicação: a reconstrução volta à soma de donations
+        jdbcTemplate.update("UPDATE donation_totals SET total_amount = 0, donation_count = 0 WHERE scope = 'DONOR' AND scope_key = ?",
+                donor.getId());
+        assertThat(donationLedgerService.verify().consistent()).isFalse();
+        donationLedgerService.rebuild();
+        assertLedgerMatchesDonations();
+    }
+
+    @Test
+    void everyAcceptedDonationIsWrittenWhenTheWriterStops() throws Exception {
+        Path spool = Path.of("target/test-donation-spool", UUID.randomUUID() + ".ndjson");
+        Files.createDirectories(spool.getParent());
+        // Sobra de um encerramento anterior com o banco fora do ar
+        PendingDonation spooled = new PendingDonation(UUID.randomUUID().toString(), donor.getId(),
+                BigDecimal.ONE, "PIX", LocalDateTime.now(), "spool");
+        Files.writeString(spool, objectMapper.writeValueAsString(spooled) + "\n");
+
+        DonationBatchWriter writer = new DonationBatchWriter(jdbcTemplate, transactionManager, new SimpleMeterRegistry(),
+                objectMapper, "async", 10000, 50, Duration.ofMillis(20), spool);
+        writer.start();
+        assertThat(spool).doesNotExist();
+        assertThat(countDonations()).isEqualTo(1);
+
+        // Envios concorrentes com o stop(): o que recebeu 202 precisa estar gravado quando o stop() volta
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                accepted.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; ; i++) {
+                        try {
+                            writer.submit(new PendingDonation(UUID.randomUUID().toString(), donor.getId(),
+                                    BigDecimal.ONE, "PIX", LocalDateTime.now(), "parada-" + thread + "-" + i));
+                            count++;
+                        } catch (ServiceUnavailableException e) {
+                            return count;
+                        }
+                    }
+                }));
+            }
+            Thread.sleep(100);
+            writer.stop();
+            long total = 1;
+            for (Future<Integer> count : accepted) {
+                total += count.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isGreaterThan(1);
+            assertThat(countDonations()).isEqualTo(total);
+            assertThat(spool).doesNotExist();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void totalsOfAllDonorsAreAdminOnly() throws Exception {
+        User admin = users.create("donation-admin", "Admin do razão", UserType.ADMIN);
+        for (String path : List.of("/donation/totals/payment-methods", "/donation/totals/days")) {
+            mockMvc.perform(get(path).with(authentication(TestUsers.authentication(donor))))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get(path).with(authentication(TestUsers.authentication(admin))))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/donation/totals/me").with(authentication(TestUsers.authentication(donor))))
+                .andExpect(status().isOk());
+    }
+
+    private void assertLedgerMatchesDonations() {
+        Map<String, Object> expected = jdbcTemplate.queryForMap(
+                "SELECT SUM(amount) AS total_amount, COUNT(*) AS donation_count FROM donations WHERE user_id = ?", donor.getId());
+        Map<String, Object> actual = jdbcTemplate.queryForMap(
+                "SELECT total_amount, donation_count FROM donation_totals WHERE scope = 'DONOR' AND scope_key = ?", donor.getId());
+        assertThat((BigDecimal) actual.get("total_amount")).isEqualByComparingTo((BigDecimal) expected.get("total_amount"));
+        assertThat(actual.get("donation_count")).isEqualTo(expected.get("donation_count"));
+        assertThat(donationLedgerService.verify().consistent()).isTrue();
+    }
+
+    private long countDeadLetters() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM donation_dead_letters WHERE user_id = ?", Long.class, missingDonorId);
+        return count != null ? count : 0;
+    }
+
+    private long countDonations() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM donations WHERE user_id = ?", Long.class, donor.getId());
+        return count != null ? count : 0;
+    }
+}
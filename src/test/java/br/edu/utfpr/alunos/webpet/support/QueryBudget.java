@@ -0,0 +1,46 @@
+package br.edu.utfpr.alunos.webpet.support;
+
+import br.edu.utfpr.alunos.webpet.infra.query.QueryCounter;
+import br.edu.utfpr.alunos.webpet.infra.query.QueryStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Para testes de integração: conta os comandos SQL que o Hibernate emite na thread atual durante a ação.
+// Com MockMvc a requisição roda na mesma thread, então a contagem cobre filtros, controller e serviço.
+//
+//   QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/animal/{id}", id)));
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static QueryStatistics measure(Action action) throws Exception {
+        QueryStatistics statistics = QueryCounter.start();
+        try {
+            action.run();
+        } finally {
+            QueryCounter.stop(statistics);
+        }
+        return statistics;
+    }
+
+    public static QueryStatistics assertAtMost(int maxQueries, Action action) throws Exception {
+        QueryStatistics statistics = measure(action);
+        assertThat(statistics.count())
+                .as("comandos SQL executados: %s", statistics.statements())
+                .isLessThanOrEqualTo(maxQueries);
+        return statistics;
+    }
+
+    // Nenhum SQL pode se repetir `threshold` vezes ou mais (padrão de N+1)
+    public static QueryStatistics assertNoRepeatedStatements(int threshold, Action action) throws Exception {
+        QueryStatistics statistics = measure(action);
+        assertThat(statistics.repeatedStatements(threshold)).as("SQL repetido (N+1)").isEmpty();
+        return statistics;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.utfpr.alunos.webpet.support;
+
+import br.edu.utfpr.alunos.webpet.domain.user.User;
+import br.edu.utfpr.alunos.webpet.repositories.UserRepository;
+import br.edu.utfpr.alunos.webpet.utils.enums.UserType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Para testes de integração: usuários gravados com e-mail único (<prefixo>-<uuid>@webpet.local) e removidos
+// juntos no fim do teste. Os animais e doações que apontam para eles precisam ser apagados antes.
+//
+//   users = new TestUsers(userRepository);                          // @BeforeEach
+//   TestUsers.authenticate(users.create("animal-import", "ONG importadora", UserType.JURIDICO));
+//   users.deleteAll();                                              // @AfterEach
+public final class TestUsers {
+    private final UserRepository userRepository;
+    private final List<User> created = new ArrayList<>();
+
+    public TestUsers(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public User create(String prefix, String name, UserType userType) {
+        return create(prefix, name, userType, null);
+    }
+
+    public User create(String prefix, String name, UserType userType, String password) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@webpet.local");
+        user.setUserType(userType);
+        user.setPassword(password);
+        User saved = userRepository.save(user);
+        created.add(saved);
+        return saved;
+    }
+
+    public List<User> created() {
+        return List.copyOf(created);
+    }
+
+    public void deleteAll() {
+        userRepository.deleteAll(created);
+        created.clear();
+    }
+
+    // Principal igual ao que o SecurityFilter monta; serve também para MockMvc com .with(authentication(...))
+    public static Authentication authentication(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+
+    public static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(authentication(user));
+    }
+}